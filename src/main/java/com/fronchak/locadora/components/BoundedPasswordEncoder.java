@@ -0,0 +1,121 @@
+package com.fronchak.locadora.components;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.fronchak.locadora.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+	public static final String METRIC_NAME = "password.encoder";
+	
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final int batchWindow;
+	private final long retryAfter;
+	private final Timer encodeTimer;
+	private final Timer matchesTimer;
+	
+	public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, long retryAfter, MeterRegistry registry) {
+		this.delegate = delegate;
+		this.retryAfter = retryAfter;
+		this.batchWindow = Math.max(1, Math.min(poolSize, queueCapacity));
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(queueCapacity),
+				runnable -> {
+					Thread thread = new Thread(runnable, "password-encoder-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+		this.encodeTimer = Timer.builder(METRIC_NAME).tag("operation", "encode").register(registry);
+		this.matchesTimer = Timer.builder(METRIC_NAME).tag("operation", "matches").register(registry);
+		new ExecutorServiceMetrics(executor, METRIC_NAME, Tags.empty()).bindTo(registry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return submit(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return submit(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+	}
+	
+	public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+		List<String> result = new ArrayList<>(rawPasswords.size());
+		for(int i = 0; i < rawPasswords.size(); i += batchWindow) {
+			List<Future<String>> futures = new ArrayList<>(batchWindow);
+			try {
+				for(CharSequence rawPassword : rawPasswords.subList(i, Math.min(i + batchWindow, rawPasswords.size()))) {
+					futures.add(enqueue(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword))));
+				}
+				for(Future<String> future : futures) {
+					result.add(await(future));
+				}
+			}
+			catch(RuntimeException e) {
+				futures.forEach(future -> future.cancel(true));
+				throw e;
+			}
+		}
+		return result;
+	}
+	
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+	
+	private <T> T submit(Callable<T> task) {
+		return await(enqueue(task));
+	}
+	
+	private <T> Future<T> enqueue(Callable<T> task) {
+		try {
+			return executor.submit(task);
+		}
+		catch(RejectedExecutionException e) {
+			throw new ServiceUnavailableException("Too many password operations in progress, please try again later", retryAfter);
+		}
+	}
+	
+	private <T> T await(Future<T> future) {
+		try {
+			return future.get();
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for password operation", e);
+		}
+		catch(ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+}
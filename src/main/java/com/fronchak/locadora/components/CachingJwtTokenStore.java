@@ -0,0 +1,121 @@
+package com.fronchak.locadora.components;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+public class CachingJwtTokenStore extends JwtTokenStore {
+
+	public static final String CACHE_NAME = "jwt";
+	
+	private final Cache<String, VerifiedToken> cache;
+	
+	private static final Ticker WALL_CLOCK_TICKER = () -> TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+	
+	public CachingJwtTokenStore(JwtAccessTokenConverter jwtTokenEnhancer, long maximumSize, MeterRegistry registry) {
+		this(jwtTokenEnhancer, maximumSize, registry, WALL_CLOCK_TICKER);
+	}
+	
+	/**
+	 * The ticker must follow the wall clock in nanoseconds, since token expirations are absolute dates.
+	 */
+	public CachingJwtTokenStore(JwtAccessTokenConverter jwtTokenEnhancer, long maximumSize, MeterRegistry registry, Ticker ticker) {
+		super(jwtTokenEnhancer);
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.ticker(ticker)
+				.expireAfter(new VerifiedTokenExpiry())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+	}
+	
+	@Override
+	public OAuth2AccessToken readAccessToken(String tokenValue) {
+		return getVerifiedToken(tokenValue).accessToken;
+	}
+	
+	@Override
+	public OAuth2Authentication readAuthentication(OAuth2AccessToken token) {
+		return readAuthentication(token.getValue());
+	}
+	
+	@Override
+	public OAuth2Authentication readAuthentication(String token) {
+		OAuth2Authentication authentication = getVerifiedToken(token).authentication;
+		OAuth2Authentication copy = new OAuth2Authentication(authentication.getOAuth2Request(), authentication.getUserAuthentication());
+		copy.setDetails(authentication.getDetails());
+		return copy;
+	}
+	
+	@Override
+	public void removeAccessToken(OAuth2AccessToken token) {
+		cache.invalidate(digest(token.getValue()));
+		super.removeAccessToken(token);
+	}
+	
+	private VerifiedToken getVerifiedToken(String tokenValue) {
+		return cache.get(digest(tokenValue), key -> new VerifiedToken(
+				super.readAccessToken(tokenValue), super.readAuthentication(tokenValue)));
+	}
+	
+	private String digest(String tokenValue) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(tokenValue.getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+		}
+		catch(NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private static class VerifiedToken {
+		
+		private final OAuth2AccessToken accessToken;
+		private final OAuth2Authentication authentication;
+		
+		private VerifiedToken(OAuth2AccessToken accessToken, OAuth2Authentication authentication) {
+			this.accessToken = accessToken;
+			this.authentication = authentication;
+		}
+	}
+	
+	private static class VerifiedTokenExpiry implements Expiry<String, VerifiedToken> {
+
+		@Override
+		public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+			Date expiration = value.accessToken.getExpiration();
+			if(expiration == null) {
+				return Long.MAX_VALUE;
+			}
+			long remaining = TimeUnit.MILLISECONDS.toNanos(expiration.getTime()) - currentTime;
+			return Math.max(remaining, 0L);
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+		@Override
+		public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
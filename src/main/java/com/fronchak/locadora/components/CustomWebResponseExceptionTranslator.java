@@ -0,0 +1,48 @@
+package com.fronchak.locadora.components;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.common.exceptions.OAuth2Exception;
+import org.springframework.security.oauth2.provider.error.DefaultWebResponseExceptionTranslator;
+import org.springframework.stereotype.Component;
+
+import com.fronchak.locadora.exceptions.ServiceUnavailableException;
+
+@Component
+public class CustomWebResponseExceptionTranslator extends DefaultWebResponseExceptionTranslator {
+
+	public static final String TEMPORARILY_UNAVAILABLE = "temporarily_unavailable";
+	
+	@Override
+	public ResponseEntity<OAuth2Exception> translate(Exception e) throws Exception {
+		ServiceUnavailableException serviceUnavailable = ServiceUnavailableException.findInCauses(e);
+		if(serviceUnavailable == null) {
+			return super.translate(e);
+		}
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(serviceUnavailable.getRetryAfter()))
+				.header(HttpHeaders.CACHE_CONTROL, "no-store")
+				.header(HttpHeaders.PRAGMA, "no-cache")
+				.body(new TemporarilyUnavailableException(serviceUnavailable.getMessage()));
+	}
+	
+	private static class TemporarilyUnavailableException extends OAuth2Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		public TemporarilyUnavailableException(String msg) {
+			super(msg);
+		}
+		
+		@Override
+		public String getOAuth2ErrorCode() {
+			return TEMPORARILY_UNAVAILABLE;
+		}
+		
+		@Override
+		public int getHttpErrorCode() {
+			return HttpStatus.SERVICE_UNAVAILABLE.value();
+		}
+	}
+}
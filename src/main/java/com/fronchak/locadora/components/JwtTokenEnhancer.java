@@ -1,9 +1,7 @@
 package com.fronchak.locadora.components;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
@@ -13,26 +11,33 @@ import org.springframework.security.oauth2.provider.token.TokenEnhancer;
 import org.springframework.stereotype.Component;
 
 import com.fronchak.locadora.entities.User;
-import com.fronchak.locadora.repositories.UserRepository;
+import com.fronchak.locadora.services.UserService;
 
 @Component
 public class JwtTokenEnhancer implements TokenEnhancer{
 
 	@Autowired
-	private UserRepository repository;
+	private UserService userService;
 	
 	@Override
 	public OAuth2AccessToken enhance(OAuth2AccessToken accessToken, OAuth2Authentication authentication) {
-		User user = repository.findByEmail(authentication.getName());
+		User user = getAuthenticatedUser(authentication);
 		Map<String, Object> map = new HashMap<>();
-		List<String> roles = user.getRoles().stream().map(role -> role.getAuthority()).collect(Collectors.toList());
 		map.put("userID", user.getId());
-		map.put("roles", roles);
+		map.put("roles", user.getAuthorityNames());
 		
 		DefaultOAuth2AccessToken token = (DefaultOAuth2AccessToken) accessToken;
 		token.setAdditionalInformation(map);
 		
 		return accessToken;
 	}
+	
+	private User getAuthenticatedUser(OAuth2Authentication authentication) {
+		Object principal = authentication.getPrincipal();
+		if(principal instanceof User) {
+			return (User) principal;
+		}
+		return (User) userService.loadUserByUsername(authentication.getName());
+	}
 
 }
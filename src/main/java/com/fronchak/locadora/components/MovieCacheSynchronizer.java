@@ -0,0 +1,32 @@
+package com.fronchak.locadora.components;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fronchak.locadora.config.CacheConfig;
+import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
+import com.fronchak.locadora.events.MovieChangedEvent;
+
+@Component
+public class MovieCacheSynchronizer {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMovieChanged(MovieChangedEvent event) {
+		Cache cache = cacheManager.getCache(CacheConfig.MOVIES_CACHE);
+		Set<Long> deletedIds = new HashSet<>(event.getIds());
+		for(MovieOutputDTO dto : event.getMovies()) {
+			cache.put(dto.getId(), dto);
+			deletedIds.remove(dto.getId());
+		}
+		deletedIds.forEach(cache::evict);
+	}
+}
@@ -0,0 +1,247 @@
+package com.fronchak.locadora.components;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
+import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
+import com.fronchak.locadora.events.MovieChangedEvent;
+import com.fronchak.locadora.repositories.MovieRepository;
+
+@Component
+public class MovieSearchIndex {
+
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+	private static final int MIN_TERM_LENGTH = 2;
+	private static final int TITLE_WEIGHT = 10;
+	private static final int SYNOPSIS_WEIGHT = 1;
+	private static final int EXACT_MATCH_FACTOR = 2;
+	
+	@Autowired
+	private MovieRepository repository;
+	
+	@Value("${movie-search.max-prefix-terms}")
+	private Integer maxPrefixTerms;
+	
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+	private final Map<Long, IndexedMovie> documents = new HashMap<>();
+	
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void rebuild() {
+		lock.writeLock().lock();
+		try {
+			postings.clear();
+			documents.clear();
+			try(Stream<MovieOutputDTO> movies = repository.streamAllForExport()) {
+				movies.forEach(dto -> add(dto.getId(), dto.getTitle(), dto.getNote(), dto.getSynopsis()));
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMovieChanged(MovieChangedEvent event) {
+		lock.writeLock().lock();
+		try {
+			event.getIds().forEach(this::remove);
+			event.getMovies().forEach(dto -> add(dto.getId(), dto.getTitle(), dto.getNote(), dto.getSynopsis()));
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	private void remove(Long id) {
+		IndexedMovie document = documents.remove(id);
+		if(document == null) {
+			return;
+		}
+		for(String term : document.weights.keySet()) {
+			Map<Long, Integer> posting = postings.get(term);
+			posting.remove(id);
+			if(posting.isEmpty()) {
+				postings.remove(term);
+			}
+		}
+	}
+	
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return documents.size();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	public List<MovieOutputAllDTO> search(String query, int limit) {
+		List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+		if(terms.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+		String prefix = terms.remove(terms.size() - 1);
+		
+		lock.readLock().lock();
+		try {
+			Map<Long, Integer> scores = matchExactTerms(terms);
+			scores = matchPrefix(prefix, scores);
+			return selectTop(scores, limit);
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	private Map<Long, Integer> matchExactTerms(List<String> terms) {
+		List<Map<Long, Integer>> matches = new ArrayList<>(terms.size());
+		for(String term : terms) {
+			Map<Long, Integer> posting = postings.get(term);
+			if(posting == null) {
+				return Collections.emptyMap();
+			}
+			matches.add(posting);
+		}
+		matches.sort(Comparator.comparingInt(Map::size));
+		
+		Map<Long, Integer> scores = null;
+		for(Map<Long, Integer> posting : matches) {
+			if(scores == null) {
+				scores = new HashMap<>();
+				for(Map.Entry<Long, Integer> entry : posting.entrySet()) {
+					scores.put(entry.getKey(), entry.getValue() * EXACT_MATCH_FACTOR);
+				}
+				continue;
+			}
+			scores.keySet().retainAll(posting.keySet());
+			scores.replaceAll((id, score) -> score + posting.get(id) * EXACT_MATCH_FACTOR);
+		}
+		return scores;
+	}
+	
+	private Map<Long, Integer> matchPrefix(String prefix, Map<Long, Integer> scores) {
+		if(scores != null) {
+			Map<Long, Integer> result = new HashMap<>();
+			for(Map.Entry<Long, Integer> entry : scores.entrySet()) {
+				int prefixScore = documents.get(entry.getKey()).scorePrefix(prefix);
+				if(prefixScore > 0) {
+					result.put(entry.getKey(), entry.getValue() + prefixScore);
+				}
+			}
+			return result;
+		}
+		
+		Map<Long, Integer> result = new HashMap<>();
+		int expandedTerms = 0;
+		for(Map.Entry<String, Map<Long, Integer>> entry : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+			if(expandedTerms++ == maxPrefixTerms) {
+				break;
+			}
+			int factor = entry.getKey().equals(prefix) ? EXACT_MATCH_FACTOR : 1;
+			for(Map.Entry<Long, Integer> posting : entry.getValue().entrySet()) {
+				result.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+			}
+		}
+		return result;
+	}
+	
+	private List<MovieOutputAllDTO> selectTop(Map<Long, Integer> scores, int limit) {
+		Comparator<Map.Entry<Long, Integer>> ranking = Map.Entry.<Long, Integer>comparingByValue()
+				.thenComparing(Map.Entry.<Long, Integer>comparingByKey().reversed());
+		PriorityQueue<Map.Entry<Long, Integer>> top = new PriorityQueue<>(ranking);
+		for(Map.Entry<Long, Integer> entry : scores.entrySet()) {
+			if(top.size() < limit) {
+				top.add(entry);
+			}
+			else if(ranking.compare(entry, top.peek()) > 0) {
+				top.poll();
+				top.add(entry);
+			}
+		}
+		
+		List<MovieOutputAllDTO> result = new ArrayList<>(top.size());
+		while(!top.isEmpty()) {
+			result.add(documents.get(top.poll().getKey()).summary);
+		}
+		Collections.reverse(result);
+		return result;
+	}
+	
+	private void add(Long id, String title, Double note, String synopsis) {
+		Map<String, Integer> weights = new HashMap<>();
+		tokenize(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+		tokenize(synopsis).forEach(term -> weights.merge(term, SYNOPSIS_WEIGHT, Integer::sum));
+		for(Map.Entry<String, Integer> entry : weights.entrySet()) {
+			postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(id, entry.getValue());
+		}
+		documents.put(id, new IndexedMovie(new MovieOutputAllDTO(id, title, note), weights));
+	}
+	
+	static String normalize(String text) {
+		String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+				.toLowerCase(Locale.ROOT);
+		return SEPARATORS.matcher(normalized).replaceAll(" ").trim();
+	}
+	
+	static List<String> tokenize(String text) {
+		if(text == null || text.isBlank()) {
+			return Collections.emptyList();
+		}
+		List<String> terms = new ArrayList<>();
+		for(String term : normalize(text).split(" ")) {
+			if(term.length() >= MIN_TERM_LENGTH) {
+				terms.add(term);
+			}
+		}
+		return terms;
+	}
+	
+	private static class IndexedMovie {
+		
+		private final MovieOutputAllDTO summary;
+		private final Map<String, Integer> weights;
+		
+		private IndexedMovie(MovieOutputAllDTO summary, Map<String, Integer> weights) {
+			this.summary = summary;
+			this.weights = weights;
+		}
+		
+		private int scorePrefix(String prefix) {
+			int score = 0;
+			for(Map.Entry<String, Integer> entry : weights.entrySet()) {
+				if(entry.getKey().startsWith(prefix)) {
+					int factor = entry.getKey().equals(prefix) ? EXACT_MATCH_FACTOR : 1;
+					score = Math.max(score, entry.getValue() * factor);
+				}
+			}
+			return score;
+		}
+	}
+}
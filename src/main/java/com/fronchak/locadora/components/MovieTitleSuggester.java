@@ -0,0 +1,219 @@
+package com.fronchak.locadora.components;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
+import com.fronchak.locadora.events.MovieChangedEvent;
+import com.fronchak.locadora.repositories.MovieRepository;
+
+@Component
+public class MovieTitleSuggester {
+
+	private static final Comparator<Entry> ORDER = Comparator.<Entry, String>comparing(entry -> entry.key)
+			.thenComparing(entry -> entry.movie.getId());
+	
+	@Autowired
+	private MovieRepository repository;
+	
+	private volatile Snapshot snapshot = new Snapshot(new String[0], new MovieOutputAllDTO[0]);
+	private Map<Long, String> keysById = new HashMap<>();
+	private List<Change> pendingChanges;
+	
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void rebuild() {
+		synchronized(this) {
+			pendingChanges = new ArrayList<>();
+		}
+		List<Entry> entries;
+		try(Stream<MovieOutputAllDTO> movies = repository.streamAllSummaries()) {
+			entries = movies.map(Entry::new).sorted(ORDER).collect(Collectors.toList());
+		}
+		catch(RuntimeException e) {
+			synchronized(this) {
+				pendingChanges = null;
+			}
+			throw e;
+		}
+		synchronized(this) {
+			snapshot = Snapshot.of(entries);
+			keysById = entries.stream().collect(Collectors.toMap(entry -> entry.movie.getId(), entry -> entry.key, (a, b) -> b, HashMap::new));
+			pendingChanges.forEach(change -> merge(change.ids, change.movies));
+			pendingChanges = null;
+		}
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMovieChanged(MovieChangedEvent event) {
+		replace(event.getIds(), event.getMovies().stream().map(MovieOutputAllDTO::new).collect(Collectors.toList()));
+	}
+	
+	public synchronized void replace(List<Long> ids, List<MovieOutputAllDTO> movies) {
+		if(pendingChanges != null) {
+			pendingChanges.add(new Change(ids, movies));
+		}
+		merge(ids, movies);
+	}
+	
+	private void merge(List<Long> ids, List<MovieOutputAllDTO> movies) {
+		Snapshot current = snapshot;
+		int length = current.keys.length;
+		
+		Set<Long> removedIds = new HashSet<>(ids);
+		movies.forEach(movie -> removedIds.add(movie.getId()));
+		int[] removals = removedIds.stream()
+				.filter(keysById::containsKey)
+				.mapToInt(id -> position(current, keysById.get(id), id))
+				.sorted()
+				.toArray();
+		
+		List<Entry> added = movies.stream().map(Entry::new).sorted(ORDER).collect(Collectors.toList());
+		int[] insertions = added.stream().mapToInt(entry -> position(current, entry.key, entry.movie.getId())).toArray();
+		
+		int size = length - removals.length + added.size();
+		String[] keys = new String[size];
+		MovieOutputAllDTO[] summaries = new MovieOutputAllDTO[size];
+		int source = 0;
+		int target = 0;
+		int r = 0;
+		int a = 0;
+		while(r < removals.length || a < insertions.length) {
+			int removal = r < removals.length ? removals[r] : length;
+			int insertion = a < insertions.length ? insertions[a] : length;
+			int next = Math.min(removal, insertion);
+			System.arraycopy(current.keys, source, keys, target, next - source);
+			System.arraycopy(current.movies, source, summaries, target, next - source);
+			target += next - source;
+			source = next;
+			if(insertion <= removal) {
+				keys[target] = added.get(a).key;
+				summaries[target++] = added.get(a++).movie;
+			}
+			else {
+				source++;
+				r++;
+			}
+		}
+		System.arraycopy(current.keys, source, keys, target, length - source);
+		System.arraycopy(current.movies, source, summaries, target, length - source);
+		
+		removedIds.forEach(keysById::remove);
+		added.forEach(entry -> keysById.put(entry.movie.getId(), entry.key));
+		snapshot = new Snapshot(keys, summaries);
+	}
+	
+	private int position(Snapshot current, String key, Long id) {
+		int low = lowerBound(current.keys, key);
+		int high = low;
+		while(high < current.keys.length && current.keys[high].equals(key)) {
+			high++;
+		}
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(current.movies[middle].getId() < id) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+	
+	public List<MovieOutputAllDTO> suggest(String prefix, int limit) {
+		Snapshot current = snapshot;
+		String key = MovieSearchIndex.normalize(prefix);
+		if(key.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+		
+		int position = lowerBound(current.keys, key);
+		List<MovieOutputAllDTO> result = new ArrayList<>(limit);
+		while(position < current.keys.length && result.size() < limit && current.keys[position].startsWith(key)) {
+			result.add(current.movies[position++]);
+		}
+		return result;
+	}
+	
+	private int lowerBound(String[] keys, String key) {
+		int low = 0;
+		int high = keys.length;
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(keys[middle].compareTo(key) < 0) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+	
+	public int size() {
+		return snapshot.keys.length;
+	}
+	
+	private static class Entry {
+		
+		private final String key;
+		private final MovieOutputAllDTO movie;
+		
+		private Entry(MovieOutputAllDTO movie) {
+			this(MovieSearchIndex.normalize(movie.getTitle()), movie);
+		}
+		
+		private Entry(String key, MovieOutputAllDTO movie) {
+			this.key = key;
+			this.movie = movie;
+		}
+	}
+	
+	private static class Change {
+		
+		private final List<Long> ids;
+		private final List<MovieOutputAllDTO> movies;
+		
+		private Change(List<Long> ids, List<MovieOutputAllDTO> movies) {
+			this.ids = ids;
+			this.movies = movies;
+		}
+	}
+	
+	private static class Snapshot {
+		
+		private final String[] keys;
+		private final MovieOutputAllDTO[] movies;
+		
+		private Snapshot(String[] keys, MovieOutputAllDTO[] movies) {
+			this.keys = keys;
+			this.movies = movies;
+		}
+		
+		private static Snapshot of(List<Entry> entries) {
+			String[] keys = new String[entries.size()];
+			MovieOutputAllDTO[] movies = new MovieOutputAllDTO[entries.size()];
+			for(int i = 0; i < keys.length; i++) {
+				keys[i] = entries.get(i).key;
+				movies[i] = entries.get(i).movie;
+			}
+			return new Snapshot(keys, movies);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.fronchak.locadora.components;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
+import com.fronchak.locadora.events.MovieChangedEvent;
+import com.fronchak.locadora.repositories.MovieRepository;
+
+@Component
+public class MovieTopRanking {
+
+	private static final Comparator<MovieOutputAllDTO> RANKING = Comparator
+			.comparing(MovieOutputAllDTO::getNote, Comparator.nullsLast(Comparator.reverseOrder()))
+			.thenComparing(MovieOutputAllDTO::getId, Comparator.reverseOrder());
+	
+	@Autowired
+	private MovieRepository repository;
+	
+	@Value("${movie-top.capacity}")
+	private Integer capacity;
+	
+	private volatile List<MovieOutputAllDTO> ranking = Collections.emptyList();
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void rebuild() {
+		ranking = List.copyOf(repository.findTopByNote(PageRequest.of(0, capacity)));
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMovieChanged(MovieChangedEvent event) {
+		replace(event.getIds(), event.getMovies().stream().map(MovieOutputAllDTO::new).collect(Collectors.toList()));
+	}
+	
+	public synchronized void replace(List<Long> ids, List<MovieOutputAllDTO> movies) {
+		List<MovieOutputAllDTO> current = ranking;
+		boolean full = current.size() >= capacity;
+		Set<Long> changedIds = Set.copyOf(ids);
+		
+		TreeSet<MovieOutputAllDTO> updated = new TreeSet<>(RANKING);
+		for(MovieOutputAllDTO dto : current) {
+			if(!changedIds.contains(dto.getId())) {
+				updated.add(dto);
+			}
+		}
+		if(full && updated.size() < current.size()) {
+			rebuild();
+			return;
+		}
+		
+		for(MovieOutputAllDTO dto : movies) {
+			if(!full || RANKING.compare(dto, current.get(current.size() - 1)) < 0) {
+				updated.add(dto);
+			}
+		}
+		while(updated.size() > capacity) {
+			updated.pollLast();
+		}
+		ranking = List.copyOf(updated);
+	}
+	
+	public List<MovieOutputAllDTO> findTop(int n) {
+		List<MovieOutputAllDTO> current = ranking;
+		return new ArrayList<>(current.subList(0, Math.min(n, current.size())));
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+}
@@ -0,0 +1,84 @@
+package com.fronchak.locadora.components;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fronchak.locadora.events.MovieChangedEvent;
+import com.fronchak.locadora.exceptions.PreconditionFailedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Component
+public class MovieVersionRegistry {
+
+	private static final Pattern MOVIE_ETAG = Pattern.compile("^\"movie-(\\d+)-(\\d+)\"$");
+	private static final int CHANGE_STRIPES = 1024;
+	
+	private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+	private final AtomicLongArray movieChanges = new AtomicLongArray(CHANGE_STRIPES);
+	private final Cache<Long, String> knownMovieETags;
+	private final AtomicLong catalogVersion = new AtomicLong();
+	
+	public MovieVersionRegistry(@Value("${movie-etag.maximum-size}") long maximumSize) {
+		this.knownMovieETags = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.build();
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMovieChanged(MovieChangedEvent event) {
+		for(Long id : event.getIds()) {
+			movieChanges.incrementAndGet(stripe(id));
+			knownMovieETags.invalidate(id);
+		}
+		catalogVersion.incrementAndGet();
+	}
+	
+	public String findMovieETag(Long id) {
+		return knownMovieETags.getIfPresent(id);
+	}
+	
+	public long getMovieChanges(Long id) {
+		return movieChanges.get(stripe(id));
+	}
+	
+	private int stripe(Long id) {
+		return Math.floorMod(id.hashCode(), CHANGE_STRIPES);
+	}
+	
+	public String registerMovieVersion(Long id, long changes, Integer version) {
+		String eTag = getMovieETag(id, version);
+		if(getMovieChanges(id) == changes) {
+			knownMovieETags.put(id, eTag);
+			if(getMovieChanges(id) != changes) {
+				knownMovieETags.asMap().remove(id, eTag);
+			}
+		}
+		return eTag;
+	}
+	
+	public String getMovieETag(Long id, Integer version) {
+		return "\"movie-" + id + "-" + version + "\"";
+	}
+	
+	public Integer parseMovieVersion(Long id, String ifMatch) {
+		if(ifMatch == null || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		Matcher matcher = MOVIE_ETAG.matcher(ifMatch.trim());
+		if(!matcher.matches() || !matcher.group(1).equals(id.toString())) {
+			throw new PreconditionFailedException("If-Match does not match the current version of movie " + id);
+		}
+		return Integer.valueOf(matcher.group(2));
+	}
+	
+	public String getCatalogETag() {
+		return "\"catalog-" + epoch + "-" + catalogVersion.get() + "\"";
+	}
+}
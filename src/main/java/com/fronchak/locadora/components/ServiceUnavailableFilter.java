@@ -0,0 +1,53 @@
+package com.fronchak.locadora.components;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fronchak.locadora.exceptions.OAuthCustomError;
+import com.fronchak.locadora.exceptions.ServiceUnavailableException;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceUnavailableFilter extends OncePerRequestFilter {
+
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		try {
+			filterChain.doFilter(request, response);
+		}
+		catch(ServletException | IOException | RuntimeException e) {
+			ServiceUnavailableException serviceUnavailable = ServiceUnavailableException.findInCauses(e);
+			if(serviceUnavailable == null || response.isCommitted()) {
+				throw e;
+			}
+			writeServiceUnavailable(response, serviceUnavailable);
+		}
+	}
+	
+	private void writeServiceUnavailable(HttpServletResponse response, ServiceUnavailableException e) throws IOException {
+		response.resetBuffer();
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter()));
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		OAuthCustomError body = new OAuthCustomError(CustomWebResponseExceptionTranslator.TEMPORARILY_UNAVAILABLE, e.getMessage());
+		objectMapper.writeValue(response.getOutputStream(), body);
+	}
+}
@@ -27,6 +27,8 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
 	private static final String[] MOVIES = { "/movies/**" };
 	
 	private static final String[] OPERATOR_OR_ADMIN = { "/users/**" };
+	
+	private static final String[] ADMIN = { "/actuator/**" };
  	
 	@Override
 	public void configure(ResourceServerSecurityConfigurer resources) throws Exception {
@@ -42,6 +44,7 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
 		
 		http.authorizeRequests()
 			.antMatchers(PUBLIC).permitAll()
+			.antMatchers(ADMIN).hasRole("ADMIN")
 			.antMatchers(HttpMethod.GET, MOVIES).hasAnyRole("CLIENT", "OPERATOR", "ADMIN")
 			.antMatchers(HttpMethod.DELETE, MOVIES).hasRole("ADMIN")
 			.antMatchers(MOVIES).hasAnyRole("OPERATOR", "ADMIN")
@@ -7,9 +7,15 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
 import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
 
+import com.fronchak.locadora.components.BoundedPasswordEncoder;
+import com.fronchak.locadora.components.CachingJwtTokenStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig {
@@ -17,9 +23,25 @@ public class WebSecurityConfig {
 	@Value("${jwt.secret}")
 	private String jwtSecret;
 	
+	@Value("${jwt.cache.maximum-size}")
+	private Long jwtCacheMaximumSize;
+	
+	@Value("${password-encoder.strength}")
+	private Integer passwordEncoderStrength;
+	
+	@Value("${password-encoder.pool-size}")
+	private Integer passwordEncoderPoolSize;
+	
+	@Value("${password-encoder.queue-capacity}")
+	private Integer passwordEncoderQueueCapacity;
+	
+	@Value("${password-encoder.retry-after}")
+	private Long passwordEncoderRetryAfter;
+	
 	@Bean
-	BCryptPasswordEncoder passwordEnconder() {
-		return new BCryptPasswordEncoder();
+	PasswordEncoder passwordEnconder(MeterRegistry meterRegistry) {
+		return new BoundedPasswordEncoder(new BCryptPasswordEncoder(passwordEncoderStrength),
+				passwordEncoderPoolSize, passwordEncoderQueueCapacity, passwordEncoderRetryAfter, meterRegistry);
 	}
 	
 	@Bean
@@ -30,8 +52,8 @@ public class WebSecurityConfig {
 	}
 
 	@Bean
-	JwtTokenStore tokenStore() {
-		return new JwtTokenStore(accessTokenConverter());
+	JwtTokenStore tokenStore(MeterRegistry meterRegistry) {
+		return new CachingJwtTokenStore(accessTokenConverter(), jwtCacheMaximumSize, meterRegistry);
 	}
 	
 	@Bean
@@ -1,12 +1,17 @@
 package com.fronchak.locadora.controllers;
 
 import java.net.URI;
+import java.util.List;
+import java.util.Map;
 
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,14 +19,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fronchak.locadora.components.MovieVersionRegistry;
+import com.fronchak.locadora.dtos.movie.MovieBatchInsertDTO;
+import com.fronchak.locadora.dtos.movie.MovieExportFormat;
 import com.fronchak.locadora.dtos.movie.MovieInsertDTO;
+import com.fronchak.locadora.dtos.movie.MovieLookupOutputDTO;
 import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
 import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
 import com.fronchak.locadora.dtos.movie.MovieUpdateDTO;
+import com.fronchak.locadora.dtos.pagination.KeysetPageDTO;
+import com.fronchak.locadora.dtos.pagination.SliceDTO;
 import com.fronchak.locadora.services.MovieService;
 
 @RestController
@@ -31,16 +46,111 @@ public class MovieController {
 	@Autowired
 	private MovieService service;
 	
+	@Autowired
+	private MovieVersionRegistry versionRegistry;
+	
 	@GetMapping(value = "/{id}")
-	public ResponseEntity<MovieOutputDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<MovieOutputDTO> findById(@PathVariable Long id, WebRequest request) {
+		String eTag = versionRegistry.findMovieETag(id);
+		if(eTag != null && request.checkNotModified(eTag)) {
+			return null;
+		}
+		long changes = versionRegistry.getMovieChanges(id);
 		MovieOutputDTO dto = service.findById(id);
-		return ResponseEntity.ok().body(dto);
+		eTag = versionRegistry.registerMovieVersion(id, changes, dto.getVersion());
+		if(request.checkNotModified(eTag)) {
+			return null;
+		}
+		return ResponseEntity.ok().eTag(eTag).body(dto);
+	}
+	
+	@GetMapping(value = "/{id}", params = "fields")
+	public ResponseEntity<Map<String, Object>> findFieldsById(@PathVariable Long id, @RequestParam String fields, WebRequest request) {
+		long changes = versionRegistry.getMovieChanges(id);
+		String eTag = versionRegistry.findMovieETag(id);
+		if(eTag != null && request.checkNotModified(eTag)) {
+			return null;
+		}
+		Map<String, Object> dto = service.findFieldsById(id, fields);
+		// The projection has no version column, so only an ETag already registered by findById can be reused
+		if(eTag == null || versionRegistry.getMovieChanges(id) != changes) {
+			return ResponseEntity.ok().body(dto);
+		}
+		return ResponseEntity.ok().eTag(eTag).body(dto);
+	}
+	
+	@GetMapping(params = {"fields", "!ids", "!after", "mode!=slice"})
+	public ResponseEntity<Page<Map<String, Object>>> findFieldsPaged(@RequestParam String fields, Pageable pageable, WebRequest request) {
+		String eTag = versionRegistry.getCatalogETag();
+		if(request.checkNotModified(eTag)) {
+			return null;
+		}
+		Page<Map<String, Object>> page = service.findFieldsPaged(fields, pageable);
+		return ResponseEntity.ok().eTag(eTag).body(page);
 	}
 	
-	@GetMapping
-	public ResponseEntity<Page<MovieOutputAllDTO>> findAllPaged(Pageable pageable) {
+	@GetMapping(params = {"!fields", "!ids", "!after", "mode!=slice"})
+	public ResponseEntity<Page<MovieOutputAllDTO>> findAllPaged(Pageable pageable, WebRequest request) {
+		String eTag = versionRegistry.getCatalogETag();
+		if(request.checkNotModified(eTag)) {
+			return null;
+		}
 		Page<MovieOutputAllDTO> page = service.findAllPaged(pageable);
-		return ResponseEntity.ok().body(page);
+		return ResponseEntity.ok().eTag(eTag).body(page);
+	}
+	
+	@GetMapping(params = {"ids", "!fields", "!after", "mode!=slice"})
+	public ResponseEntity<MovieLookupOutputDTO> findAllByIds(@RequestParam List<Long> ids) {
+		MovieLookupOutputDTO result = service.findAllByIds(ids);
+		return ResponseEntity.ok().body(result);
+	}
+	
+	@GetMapping(params = {"mode=slice", "!fields", "!ids", "!after"})
+	public ResponseEntity<SliceDTO<MovieOutputAllDTO>> findAllSliced(Pageable pageable, WebRequest request) {
+		String eTag = versionRegistry.getCatalogETag();
+		if(request.checkNotModified(eTag)) {
+			return null;
+		}
+		SliceDTO<MovieOutputAllDTO> slice = service.findAllSliced(pageable);
+		return ResponseEntity.ok().eTag(eTag).body(slice);
+	}
+	
+	@GetMapping(params = {"after", "!fields", "!ids", "mode!=slice"})
+	public ResponseEntity<KeysetPageDTO<MovieOutputAllDTO>> findAllByKeyset(@RequestParam String after, Pageable pageable, WebRequest request) {
+		String eTag = versionRegistry.getCatalogETag();
+		if(request.checkNotModified(eTag)) {
+			return null;
+		}
+		KeysetPageDTO<MovieOutputAllDTO> page = service.findAllByKeyset(after, pageable);
+		return ResponseEntity.ok().eTag(eTag).body(page);
+	}
+	
+	@GetMapping(value = "/top")
+	public ResponseEntity<List<MovieOutputAllDTO>> findTop(@RequestParam(defaultValue = "10") Integer n) {
+		List<MovieOutputAllDTO> result = service.findTop(n);
+		return ResponseEntity.ok().body(result);
+	}
+	
+	@GetMapping(value = "/search")
+	public ResponseEntity<List<MovieOutputAllDTO>> search(@RequestParam String q, @RequestParam(defaultValue = "20") Integer size) {
+		List<MovieOutputAllDTO> result = service.search(q, size);
+		return ResponseEntity.ok().body(result);
+	}
+	
+	@GetMapping(value = "/suggest")
+	public ResponseEntity<List<MovieOutputAllDTO>> suggest(@RequestParam String prefix, @RequestParam(defaultValue = "10") Integer size) {
+		List<MovieOutputAllDTO> result = service.suggest(prefix, size);
+		return ResponseEntity.ok().body(result);
+	}
+	
+	@GetMapping(value = "/export")
+	public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+		MovieExportFormat exportFormat = MovieExportFormat.fromValue(format);
+		StreamingResponseBody body = outputStream -> service.export(exportFormat, outputStream);
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + exportFormat.getFileName() + "\"")
+				.body(body);
 	}
 	
 	@DeleteMapping(value = "/{id}")
@@ -57,9 +167,17 @@ public class MovieController {
 		return ResponseEntity.created(uri).body(outputDTO);
 	}
 	
+	@PostMapping(value = "/batch")
+	public ResponseEntity<List<MovieOutputAllDTO>> saveAll(@Valid @RequestBody MovieBatchInsertDTO batchInsertDTO) {
+		List<MovieOutputAllDTO> outputDTOs = service.saveAll(batchInsertDTO);
+		return ResponseEntity.status(HttpStatus.CREATED).body(outputDTOs);
+	}
+	
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<MovieOutputDTO> update(@Valid @RequestBody MovieUpdateDTO updateDTO, @PathVariable Long id) {
-		MovieOutputDTO outputDTO = service.update(updateDTO, id);
-		return ResponseEntity.ok().body(outputDTO);
+	public ResponseEntity<MovieOutputDTO> update(@Valid @RequestBody MovieUpdateDTO updateDTO, @PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		Integer expectedVersion = versionRegistry.parseMovieVersion(id, ifMatch);
+		MovieOutputDTO outputDTO = service.update(updateDTO, id, expectedVersion);
+		return ResponseEntity.ok().eTag(versionRegistry.getMovieETag(id, outputDTO.getVersion())).body(outputDTO);
 	}
 }
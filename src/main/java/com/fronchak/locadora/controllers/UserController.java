@@ -5,6 +5,8 @@ import java.net.URI;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,9 +15,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fronchak.locadora.dtos.pagination.KeysetPageDTO;
+import com.fronchak.locadora.dtos.user.UserBatchInsertDTO;
+import com.fronchak.locadora.dtos.user.UserBatchInsertOutputDTO;
 import com.fronchak.locadora.dtos.user.UserInsertDTO;
 import com.fronchak.locadora.dtos.user.UserOutputDTO;
 import com.fronchak.locadora.dtos.user.UserUpdateDTO;
@@ -28,6 +34,13 @@ public class UserController {
 	@Autowired
 	private UserService service;
 	
+	@GetMapping
+	public ResponseEntity<KeysetPageDTO<UserOutputDTO>> findAllByKeyset(@RequestParam(defaultValue = "") String after,
+			@RequestParam(required = false) Long roleId, Pageable pageable) {
+		KeysetPageDTO<UserOutputDTO> page = service.findAllByKeyset(after, roleId, pageable);
+		return ResponseEntity.ok().body(page);
+	}
+	
 	@GetMapping(value = "/{id}")
 	public ResponseEntity<UserOutputDTO> findById(@PathVariable Long id) {
 		UserOutputDTO outputDTO = service.findById(id);
@@ -48,6 +61,13 @@ public class UserController {
 		return ResponseEntity.created(uri).body(outputDTO);
 	}
 	
+	@PostMapping(value = "/batch")
+	public ResponseEntity<UserBatchInsertOutputDTO> saveAll(@Valid @RequestBody UserBatchInsertDTO batchInsertDTO) {
+		UserBatchInsertOutputDTO outputDTO = service.saveAll(batchInsertDTO);
+		HttpStatus status = outputDTO.getRejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+		return ResponseEntity.status(status).body(outputDTO);
+	}
+	
 	@PutMapping(value = "/{id}")
 	public ResponseEntity<UserOutputDTO> update(@Valid @RequestBody UserUpdateDTO updateDTO, @PathVariable Long id) {
 		UserOutputDTO outputDTO = service.update(updateDTO, id);
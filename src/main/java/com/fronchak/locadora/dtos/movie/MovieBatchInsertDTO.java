@@ -0,0 +1,31 @@
+package com.fronchak.locadora.dtos.movie;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+import com.fronchak.locadora.validations.movie.MovieBatchInsertValid;
+
+@MovieBatchInsertValid
+public class MovieBatchInsertDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	public static final int MAX_SIZE = 10000;
+	
+	@NotEmpty(message = "At least one movie must be informed")
+	@Size(max = MAX_SIZE, message = "Cannot insert more than " + MAX_SIZE + " movies at once")
+	private List<@Valid MovieInputDTO> movies = new ArrayList<>();
+
+	public List<MovieInputDTO> getMovies() {
+		return movies;
+	}
+
+	public void setMovies(List<MovieInputDTO> movies) {
+		this.movies = movies;
+	}
+}
@@ -0,0 +1,32 @@
+package com.fronchak.locadora.dtos.movie;
+
+import com.fronchak.locadora.exceptions.BadRequestException;
+
+public enum MovieExportFormat {
+
+	NDJSON("application/x-ndjson"),
+	CSV("text/csv");
+	
+	private final String contentType;
+	
+	private MovieExportFormat(String contentType) {
+		this.contentType = contentType;
+	}
+	
+	public String getContentType() {
+		return contentType;
+	}
+	
+	public String getFileName() {
+		return "movies." + name().toLowerCase();
+	}
+	
+	public static MovieExportFormat fromValue(String value) {
+		for(MovieExportFormat format : values()) {
+			if(format.name().equalsIgnoreCase(value)) {
+				return format;
+			}
+		}
+		throw new BadRequestException("Invalid export format: " + value);
+	}
+}
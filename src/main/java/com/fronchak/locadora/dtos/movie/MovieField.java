@@ -0,0 +1,44 @@
+package com.fronchak.locadora.dtos.movie;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.fronchak.locadora.exceptions.BadRequestException;
+
+public enum MovieField {
+
+	ID("id"),
+	TITLE("title"),
+	SYNOPSIS("synopsis"),
+	DURATION_IN_MINUTES("durationInMinutes"),
+	NOTE("note");
+	
+	private final String property;
+	
+	private MovieField(String property) {
+		this.property = property;
+	}
+	
+	public String getProperty() {
+		return property;
+	}
+	
+	public static MovieField fromProperty(String property) {
+		for(MovieField field : values()) {
+			if(field.property.equals(property)) {
+				return field;
+			}
+		}
+		throw new BadRequestException("Invalid movie field: " + property);
+	}
+	
+	public static Set<MovieField> parse(String fields) {
+		Set<MovieField> result = EnumSet.of(ID);
+		for(String property : fields.split(",")) {
+			if(!property.isBlank()) {
+				result.add(fromProperty(property.trim()));
+			}
+		}
+		return result;
+	}
+}
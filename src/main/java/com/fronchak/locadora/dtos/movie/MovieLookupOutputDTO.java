@@ -0,0 +1,36 @@
+package com.fronchak.locadora.dtos.movie;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MovieLookupOutputDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	private List<MovieOutputDTO> content = new ArrayList<>();
+	private List<Long> missingIds = new ArrayList<>();
+	
+	public MovieLookupOutputDTO() {}
+	
+	public MovieLookupOutputDTO(List<MovieOutputDTO> content, List<Long> missingIds) {
+		this.content = content;
+		this.missingIds = missingIds;
+	}
+
+	public List<MovieOutputDTO> getContent() {
+		return content;
+	}
+
+	public void setContent(List<MovieOutputDTO> content) {
+		this.content = content;
+	}
+
+	public List<Long> getMissingIds() {
+		return missingIds;
+	}
+
+	public void setMissingIds(List<Long> missingIds) {
+		this.missingIds = missingIds;
+	}
+}
@@ -23,6 +23,10 @@ public class MovieOutputAllDTO implements Serializable {
 	public MovieOutputAllDTO(Movie entity) {
 		this(entity.getId(), entity.getTitle(), entity.getNote());
 	}
+	
+	public MovieOutputAllDTO(MovieOutputDTO dto) {
+		this(dto.getId(), dto.getTitle(), dto.getNote());
+	}
 
 	public Long getId() {
 		return id;
@@ -1,5 +1,7 @@
 package com.fronchak.locadora.dtos.movie;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fronchak.locadora.entities.Movie;
 
 public class MovieOutputDTO extends MovieOutputAllDTO {
@@ -9,6 +11,9 @@ public class MovieOutputDTO extends MovieOutputAllDTO {
 	private String synopsis;
 	private Integer durationInMinutes;
 	
+	@JsonInclude(Include.NON_NULL)
+	private Integer version;
+	
 	public MovieOutputDTO() {}
 
 	public MovieOutputDTO(Long id, String title, Double note, String synopsis, Integer durationInMinutes) {
@@ -19,6 +24,7 @@ public class MovieOutputDTO extends MovieOutputAllDTO {
 
 	public MovieOutputDTO(Movie entity) {
 		this(entity.getId(), entity.getTitle(), entity.getNote(), entity.getSynopsis(), entity.getDurationInMinutes());
+		version = entity.getVersion();
 	}
 
 	public String getSynopsis() {
@@ -36,4 +42,12 @@ public class MovieOutputDTO extends MovieOutputAllDTO {
 	public void setDurationInMinutes(Integer durationInMinutes) {
 		this.durationInMinutes = durationInMinutes;
 	}
+	
+	public Integer getVersion() {
+		return version;
+	}
+	
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
 }
@@ -0,0 +1,69 @@
+package com.fronchak.locadora.dtos.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.Sort.Direction;
+
+import com.fronchak.locadora.exceptions.BadRequestException;
+
+public class KeysetCursor {
+
+	private static final String SEPARATOR = ",";
+	
+	private final String property;
+	private final Direction direction;
+	private final Long lastId;
+	private final String lastValue;
+	
+	public KeysetCursor(String property, Direction direction, Long lastId, String lastValue) {
+		this.property = property;
+		this.direction = direction;
+		this.lastId = lastId;
+		this.lastValue = lastValue;
+	}
+	
+	public static KeysetCursor first(String property, Direction direction) {
+		return new KeysetCursor(property, direction, null, null);
+	}
+	
+	public static KeysetCursor decode(String encoded) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+			String[] parts = decoded.split(SEPARATOR, 4);
+			return new KeysetCursor(parts[0], Direction.valueOf(parts[1]), Long.valueOf(parts[2]), parts[3]);
+		}
+		catch(IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			throw new BadRequestException("Invalid cursor: " + encoded);
+		}
+	}
+	
+	public String encode() {
+		String raw = property + SEPARATOR + direction.name() + SEPARATOR + lastId + SEPARATOR + lastValue;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	public KeysetCursor after(Long id, Object value) {
+		return new KeysetCursor(property, direction, id, String.valueOf(value));
+	}
+	
+	public boolean isFirst() {
+		return lastId == null;
+	}
+
+	public String getProperty() {
+		return property;
+	}
+
+	public Direction getDirection() {
+		return direction;
+	}
+
+	public Long getLastId() {
+		return lastId;
+	}
+
+	public String getLastValue() {
+		return lastValue;
+	}
+}
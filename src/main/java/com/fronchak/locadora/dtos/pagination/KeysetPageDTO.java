@@ -0,0 +1,56 @@
+package com.fronchak.locadora.dtos.pagination;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class KeysetPageDTO<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	private List<T> content = new ArrayList<>();
+	private Integer size;
+	private Boolean hasNext;
+	private String next;
+	
+	public KeysetPageDTO() {}
+	
+	public KeysetPageDTO(List<T> content, Integer size, Boolean hasNext, String next) {
+		this.content = content;
+		this.size = size;
+		this.hasNext = hasNext;
+		this.next = next;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public void setSize(Integer size) {
+		this.size = size;
+	}
+
+	public Boolean getHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(Boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+}
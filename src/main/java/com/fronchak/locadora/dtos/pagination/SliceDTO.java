@@ -0,0 +1,62 @@
+package com.fronchak.locadora.dtos.pagination;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Slice;
+
+public class SliceDTO<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	private List<T> content = new ArrayList<>();
+	private Integer number;
+	private Integer size;
+	private Boolean hasNext;
+	
+	public SliceDTO() {}
+	
+	public SliceDTO(List<T> content, Integer number, Integer size, Boolean hasNext) {
+		this.content = content;
+		this.number = number;
+		this.size = size;
+		this.hasNext = hasNext;
+	}
+	
+	public SliceDTO(Slice<T> slice) {
+		this(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public Integer getNumber() {
+		return number;
+	}
+
+	public void setNumber(Integer number) {
+		this.number = number;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public void setSize(Integer size) {
+		this.size = size;
+	}
+
+	public Boolean getHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(Boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+}
@@ -0,0 +1,27 @@
+package com.fronchak.locadora.dtos.user;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+public class UserBatchInsertDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	public static final int MAX_SIZE = 1000;
+	
+	@NotEmpty(message = "At least one user must be informed")
+	@Size(max = MAX_SIZE, message = "Cannot insert more than " + MAX_SIZE + " users at once")
+	private List<UserInputDTO> users = new ArrayList<>();
+
+	public List<UserInputDTO> getUsers() {
+		return users;
+	}
+
+	public void setUsers(List<UserInputDTO> users) {
+		this.users = users;
+	}
+}
@@ -0,0 +1,34 @@
+package com.fronchak.locadora.dtos.user;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserBatchInsertOutputDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	private Integer created;
+	private Integer rejected;
+	private List<UserBatchItemOutputDTO> results = new ArrayList<>();
+	
+	public UserBatchInsertOutputDTO() {}
+	
+	public UserBatchInsertOutputDTO(List<UserBatchItemOutputDTO> results) {
+		this.results = results;
+		this.created = (int) results.stream().filter(UserBatchItemOutputDTO::getCreated).count();
+		this.rejected = results.size() - created;
+	}
+
+	public Integer getCreated() {
+		return created;
+	}
+
+	public Integer getRejected() {
+		return rejected;
+	}
+
+	public List<UserBatchItemOutputDTO> getResults() {
+		return results;
+	}
+}
@@ -0,0 +1,63 @@
+package com.fronchak.locadora.dtos.user;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserBatchItemOutputDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	private Integer index;
+	private String email;
+	private Long id;
+	private Boolean created;
+	private List<String> errors = new ArrayList<>();
+	
+	public UserBatchItemOutputDTO() {}
+	
+	public UserBatchItemOutputDTO(Integer index, String email) {
+		this.index = index;
+		this.email = email;
+	}
+
+	public Integer getIndex() {
+		return index;
+	}
+
+	public void setIndex(Integer index) {
+		this.index = index;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Boolean getCreated() {
+		return created;
+	}
+
+	public void setCreated(Boolean created) {
+		this.created = created;
+	}
+
+	public List<String> getErrors() {
+		return errors;
+	}
+
+	public void addError(String error) {
+		errors.add(error);
+	}
+}
@@ -14,6 +14,13 @@ public class UserOutputDTO implements Serializable {
 	private String email;
 	private Set<RoleOutputDTO> roles = new HashSet<>();
 	
+	public UserOutputDTO() {}
+	
+	public UserOutputDTO(Long id, String email) {
+		this.id = id;
+		this.email = email;
+	}
+	
 	public Long getId() {
 		return id;
 	}
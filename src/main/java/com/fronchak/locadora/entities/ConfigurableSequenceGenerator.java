@@ -0,0 +1,31 @@
+package com.fronchak.locadora.entities;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+public class ConfigurableSequenceGenerator extends SequenceStyleGenerator {
+
+	public static final String STRATEGY = "com.fronchak.locadora.entities.ConfigurableSequenceGenerator";
+	public static final String INCREMENT_SIZE_SETTING = "hibernate.id.sequence.%s.increment_size";
+
+	@Override
+	public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+		Map<String, Object> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+		Object incrementSize = settings.get(String.format(INCREMENT_SIZE_SETTING, params.getProperty(SEQUENCE_PARAM)));
+		if(incrementSize != null) {
+			params.setProperty(INCREMENT_PARAM, incrementSize.toString());
+		}
+		Object preferredOptimizer = settings.get(AvailableSettings.PREFERRED_POOLED_OPTIMIZER);
+		if(preferredOptimizer != null && !params.containsKey(AvailableSettings.PREFERRED_POOLED_OPTIMIZER)) {
+			params.setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, preferredOptimizer.toString());
+		}
+		super.configure(type, params, serviceRegistry);
+	}
+}
@@ -3,21 +3,39 @@ package com.fronchak.locadora.entities;
 import java.io.Serializable;
 import java.util.Objects;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Entity
-@Table(name = "movie")
+@Table(name = "movie",
+		uniqueConstraints = @UniqueConstraint(name = Movie.TITLE_CONSTRAINT, columnNames = "title"),
+		indexes = @Index(name = "ix_movie_note", columnList = "note, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie")
 public class Movie implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 	
+	public static final String TITLE_CONSTRAINT = "ux_movie_title";
+	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "movie_seq")
+	@GenericGenerator(name = "movie_seq", strategy = ConfigurableSequenceGenerator.STRATEGY, parameters = {
+			@Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "movie_seq"),
+			@Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")})
 	private Long id;
 	private String title;
 	
@@ -28,6 +46,9 @@ public class Movie implements Serializable {
 	private Integer durationInMinutes;
 	private Double note;
 	
+	@Version
+	private Integer version;
+	
 	public Long getId() {
 		return id;
 	}
@@ -68,6 +89,14 @@ public class Movie implements Serializable {
 		this.note = note;
 	}
 	
+	public Integer getVersion() {
+		return version;
+	}
+	
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+	
 	@Override
 	public int hashCode() {
 		return Objects.hash(id);
@@ -1,22 +1,39 @@
 package com.fronchak.locadora.entities;
 
 import java.io.Serializable;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
 @Entity
 @Table(name = "role")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "role")
 public class Role implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 	
+	private static final Map<String, GrantedAuthority> GRANTED_AUTHORITIES = new ConcurrentHashMap<>();
+	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "role_seq")
+	@GenericGenerator(name = "role_seq", strategy = ConfigurableSequenceGenerator.STRATEGY, parameters = {
+			@Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "role_seq"),
+			@Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "10")})
 	private Long id;
 	private String authority;
 	
@@ -42,6 +59,10 @@ public class Role implements Serializable {
 	public void setAuthority(String authority) {
 		this.authority = authority;
 	}
+	
+	public GrantedAuthority getGrantedAuthority() {
+		return GRANTED_AUTHORITIES.computeIfAbsent(getAuthority(), SimpleGrantedAuthority::new);
+	}
 
 	@Override
 	public int hashCode() {
@@ -2,42 +2,62 @@ package com.fronchak.locadora.entities;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 @Entity
-@Table(name = "tb_user")
+@Table(name = "tb_user", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User implements Serializable, UserDetails {
 
 	private static final long serialVersionUID = 1L;
 	
+	public static final String EMAIL_CONSTRAINT = "ux_user_email";
+	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "user_seq")
+	@GenericGenerator(name = "user_seq", strategy = ConfigurableSequenceGenerator.STRATEGY, parameters = {
+			@Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "user_seq"),
+			@Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")})
 	private Long id;
 	private String email;
 	private String password;
 
-	@ManyToMany(fetch = FetchType.EAGER)
+	@ManyToMany(fetch = FetchType.LAZY)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
 	@JoinTable(name = "user_role",
 			joinColumns = @JoinColumn(name = "id_user"),
-			inverseJoinColumns = @JoinColumn(name = "id_role"))
+			inverseJoinColumns = @JoinColumn(name = "id_role"),
+			indexes = @Index(name = "ix_user_role_role", columnList = "id_role"))
 	private Set<Role> roles = new HashSet<>();
+	
+	private transient List<GrantedAuthority> authorities;
+	private transient List<String> authorityNames;
 
 	public Long getId() {
 		return id;
@@ -64,11 +84,31 @@ public class User implements Serializable, UserDetails {
 	}
 
 	public Set<Role> getRoles() {
-		return roles;
+		return Collections.unmodifiableSet(roles);
 	}
 
 	public void addRole(Role role) {
 		roles.add(role);
+		resetAuthorities();
+	}
+	
+	public void clearRoles() {
+		roles.clear();
+		resetAuthorities();
+	}
+	
+	private void resetAuthorities() {
+		authorities = null;
+		authorityNames = null;
+	}
+	
+	public List<String> getAuthorityNames() {
+		List<String> names = authorityNames;
+		if(names == null) {
+			names = getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toUnmodifiableList());
+			authorityNames = names;
+		}
+		return names;
 	}
 
 	@Override
@@ -90,7 +130,12 @@ public class User implements Serializable, UserDetails {
 
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
-		return roles.stream().map(role -> new SimpleGrantedAuthority(role.getAuthority())).collect(Collectors.toList());
+		List<GrantedAuthority> result = authorities;
+		if(result == null) {
+			result = roles.stream().map(Role::getGrantedAuthority).collect(Collectors.toUnmodifiableList());
+			authorities = result;
+		}
+		return result;
 	}
 
 	@Override
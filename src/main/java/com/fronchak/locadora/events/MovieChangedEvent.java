@@ -0,0 +1,36 @@
+package com.fronchak.locadora.events;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
+import com.fronchak.locadora.entities.Movie;
+
+public class MovieChangedEvent {
+
+	private final List<Long> ids;
+	private final List<MovieOutputDTO> movies;
+	
+	public MovieChangedEvent(Collection<Long> ids, Collection<MovieOutputDTO> movies) {
+		this.ids = List.copyOf(ids);
+		this.movies = List.copyOf(movies);
+	}
+	
+	public static MovieChangedEvent saved(Collection<Movie> entities) {
+		List<MovieOutputDTO> movies = entities.stream().map(MovieOutputDTO::new).collect(Collectors.toList());
+		return new MovieChangedEvent(movies.stream().map(MovieOutputDTO::getId).collect(Collectors.toList()), movies);
+	}
+	
+	public static MovieChangedEvent deleted(Long id) {
+		return new MovieChangedEvent(List.of(id), List.of());
+	}
+
+	public List<Long> getIds() {
+		return ids;
+	}
+
+	public List<MovieOutputDTO> getMovies() {
+		return movies;
+	}
+}
@@ -0,0 +1,14 @@
+package com.fronchak.locadora.exceptions;
+
+public class BadRequestException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public BadRequestException(String msg) {
+		super(msg);
+	}
+	
+	public static String getError() {
+		return "Bad request";
+	}
+}
@@ -0,0 +1,14 @@
+package com.fronchak.locadora.exceptions;
+
+public class ConflictException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ConflictException(String msg) {
+		super(msg);
+	}
+	
+	public static String getError() {
+		return "Conflict";
+	}
+}
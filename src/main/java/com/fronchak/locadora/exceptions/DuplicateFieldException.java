@@ -0,0 +1,21 @@
+package com.fronchak.locadora.exceptions;
+
+public class DuplicateFieldException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+	
+	private final String fieldName;
+
+	public DuplicateFieldException(String fieldName, String msg) {
+		super(msg);
+		this.fieldName = fieldName;
+	}
+	
+	public String getFieldName() {
+		return fieldName;
+	}
+	
+	public static String getError() {
+		return "Validation error";
+	}
+}
@@ -0,0 +1,14 @@
+package com.fronchak.locadora.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public PreconditionFailedException(String msg) {
+		super(msg);
+	}
+	
+	public static String getError() {
+		return "Precondition failed";
+	}
+}
@@ -0,0 +1,31 @@
+package com.fronchak.locadora.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+	
+	private final long retryAfter;
+
+	public ServiceUnavailableException(String msg, long retryAfter) {
+		super(msg);
+		this.retryAfter = retryAfter;
+	}
+	
+	public long getRetryAfter() {
+		return retryAfter;
+	}
+	
+	public static String getError() {
+		return "Service unavailable";
+	}
+	
+	public static ServiceUnavailableException findInCauses(Throwable e) {
+		while(e != null) {
+			if(e instanceof ServiceUnavailableException) {
+				return (ServiceUnavailableException) e;
+			}
+			e = e.getCause();
+		}
+		return null;
+	}
+}
@@ -2,19 +2,26 @@ package com.fronchak.locadora.exceptions.handler;
 
 import java.time.Instant;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.UnsatisfiedServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
+import com.fronchak.locadora.exceptions.BadRequestException;
+import com.fronchak.locadora.exceptions.ConflictException;
 import com.fronchak.locadora.exceptions.DatabaseException;
+import com.fronchak.locadora.exceptions.DuplicateFieldException;
 import com.fronchak.locadora.exceptions.ExceptionResponse;
 import com.fronchak.locadora.exceptions.InvalidPasswordException;
 import com.fronchak.locadora.exceptions.OAuthCustomError;
+import com.fronchak.locadora.exceptions.PreconditionFailedException;
 import com.fronchak.locadora.exceptions.ResourceNotFoundException;
+import com.fronchak.locadora.exceptions.ServiceUnavailableException;
 import com.fronchak.locadora.exceptions.ValidationExceptionResponse;
 
 @RestControllerAdvice
@@ -45,6 +52,44 @@ public class CustomizeResponseEntityExceptionResponse {
 		return ResponseEntity.status(status).body(response);
 	}
 	
+	@ExceptionHandler(BadRequestException.class)
+	public ResponseEntity<ExceptionResponse> handleBadRequestException(BadRequestException e, WebRequest request) {
+		HttpStatus status = HttpStatus.BAD_REQUEST;
+		ExceptionResponse response = makeResponse(new ExceptionResponse(), e, request, status, BadRequestException.getError());
+		return ResponseEntity.status(status).body(response);
+	}
+	
+	@ExceptionHandler(UnsatisfiedServletRequestParameterException.class)
+	public ResponseEntity<ExceptionResponse> handleUnsatisfiedServletRequestParameterException(
+			UnsatisfiedServletRequestParameterException e, WebRequest request) {
+		HttpStatus status = HttpStatus.BAD_REQUEST;
+		ExceptionResponse response = makeResponse(new ExceptionResponse(), e, request, status, BadRequestException.getError());
+		return ResponseEntity.status(status).body(response);
+	}
+	
+	@ExceptionHandler(PreconditionFailedException.class)
+	public ResponseEntity<ExceptionResponse> handlePreconditionFailedException(PreconditionFailedException e, WebRequest request) {
+		HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+		ExceptionResponse response = makeResponse(new ExceptionResponse(), e, request, status, PreconditionFailedException.getError());
+		return ResponseEntity.status(status).body(response);
+	}
+	
+	@ExceptionHandler(ConflictException.class)
+	public ResponseEntity<ExceptionResponse> handleConflictException(ConflictException e, WebRequest request) {
+		HttpStatus status = HttpStatus.CONFLICT;
+		ExceptionResponse response = makeResponse(new ExceptionResponse(), e, request, status, ConflictException.getError());
+		return ResponseEntity.status(status).body(response);
+	}
+	
+	@ExceptionHandler(ServiceUnavailableException.class)
+	public ResponseEntity<ExceptionResponse> handleServiceUnavailableException(ServiceUnavailableException e, WebRequest request) {
+		HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+		ExceptionResponse response = makeResponse(new ExceptionResponse(), e, request, status, ServiceUnavailableException.getError());
+		return ResponseEntity.status(status)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter()))
+				.body(response);
+	}
+	
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ResponseEntity<ValidationExceptionResponse> handleMethodArgumentNotValidException(
 			MethodArgumentNotValidException e, WebRequest request) {
@@ -59,6 +104,15 @@ public class CustomizeResponseEntityExceptionResponse {
 		return ResponseEntity.status(status).body(response);
 	}
 	
+	@ExceptionHandler(DuplicateFieldException.class)
+	public ResponseEntity<ValidationExceptionResponse> handleDuplicateFieldException(DuplicateFieldException e, WebRequest request) {
+		HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+		ValidationExceptionResponse response = (ValidationExceptionResponse) makeResponse(
+				new ValidationExceptionResponse(), e, request, status, DuplicateFieldException.getError());
+		response.addError(e.getFieldName(), e.getMessage());
+		return ResponseEntity.status(status).body(response);
+	}
+	
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ExceptionResponse> handleException(Exception e, WebRequest request) {
 		HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
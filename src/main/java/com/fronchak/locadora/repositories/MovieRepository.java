@@ -1,12 +1,52 @@
 package com.fronchak.locadora.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
+import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
 import com.fronchak.locadora.entities.Movie;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+public interface MovieRepository extends JpaRepository<Movie, Long>, MovieRepositoryCustom {
+	
+	@Query(value = "SELECT new com.fronchak.locadora.dtos.movie.MovieOutputAllDTO(obj.id, obj.title, obj.note) FROM Movie obj",
+			countQuery = "SELECT COUNT(obj) FROM Movie obj")
+	Page<MovieOutputAllDTO> findAllProjected(Pageable pageable);
+	
+	@Query("SELECT new com.fronchak.locadora.dtos.movie.MovieOutputAllDTO(obj.id, obj.title, obj.note) FROM Movie obj")
+	Slice<MovieOutputAllDTO> findAllSliced(Pageable pageable);
+	
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+	@Query("SELECT new com.fronchak.locadora.dtos.movie.MovieOutputDTO(obj.id, obj.title, obj.note, obj.synopsis, obj.durationInMinutes) "
+			+ "FROM Movie obj ORDER BY obj.id")
+	Stream<MovieOutputDTO> streamAllForExport();
+	
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+	@Query("SELECT new com.fronchak.locadora.dtos.movie.MovieOutputAllDTO(obj.id, obj.title, obj.note) FROM Movie obj")
+	Stream<MovieOutputAllDTO> streamAllSummaries();
+	
+	@Query("SELECT new com.fronchak.locadora.dtos.movie.MovieOutputAllDTO(obj.id, obj.title, obj.note) FROM Movie obj "
+			+ "ORDER BY obj.note DESC, obj.id DESC")
+	List<MovieOutputAllDTO> findTopByNote(Pageable pageable);
+	
+	boolean existsByTitle(String title);
+	
+	@Query("SELECT obj.title FROM Movie obj WHERE obj.title IN :titles")
+	List<String> findExistingTitles(Collection<String> titles);
 	
-	Movie findByTitle(String title);
+	@Query("SELECT obj.id FROM Movie obj WHERE obj.title = :title")
+	Optional<Long> findIdByTitle(String title);
 }
\ No newline at end of file
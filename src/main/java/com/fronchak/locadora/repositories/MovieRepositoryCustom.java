@@ -0,0 +1,25 @@
+package com.fronchak.locadora.repositories;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.fronchak.locadora.dtos.movie.MovieField;
+import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
+import com.fronchak.locadora.dtos.pagination.KeysetCursor;
+import com.fronchak.locadora.entities.Movie;
+
+public interface MovieRepositoryCustom {
+
+	List<MovieOutputAllDTO> findAllByKeyset(KeysetCursor cursor, int limit);
+	
+	void insertInBatches(List<Movie> entities);
+	
+	Optional<Map<String, Object>> findFieldsById(Long id, Set<MovieField> fields);
+	
+	Page<Map<String, Object>> findFieldsPaged(Set<MovieField> fields, Pageable pageable);
+}
@@ -0,0 +1,169 @@
+package com.fronchak.locadora.repositories;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.fronchak.locadora.dtos.movie.MovieField;
+import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
+import com.fronchak.locadora.dtos.pagination.KeysetCursor;
+import com.fronchak.locadora.entities.Movie;
+import com.fronchak.locadora.exceptions.BadRequestException;
+
+public class MovieRepositoryImpl implements MovieRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+	private Integer batchSize;
+	
+	@Override
+	public void insertInBatches(List<Movie> entities) {
+		for(int i = 0; i < entities.size(); i++) {
+			entityManager.persist(entities.get(i));
+			if((i + 1) % batchSize == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+	
+	@Override
+	public Optional<Map<String, Object>> findFieldsById(Long id, Set<MovieField> fields) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Movie> root = query.from(Movie.class);
+		query.multiselect(makeSelections(root, fields));
+		query.where(cb.equal(root.get("id"), id));
+		
+		return entityManager.createQuery(query).getResultStream()
+				.findFirst()
+				.map(tuple -> convertTupleToMap(tuple, fields));
+	}
+	
+	@Override
+	public Page<Map<String, Object>> findFieldsPaged(Set<MovieField> fields, Pageable pageable) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Movie> root = query.from(Movie.class);
+		query.multiselect(makeSelections(root, fields));
+		
+		List<Order> orders = new ArrayList<>();
+		for(Sort.Order order : pageable.getSort()) {
+			Path<?> path = root.get(MovieField.fromProperty(order.getProperty()).getProperty());
+			orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+		}
+		query.orderBy(orders);
+		
+		TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+		if(pageable.isPaged()) {
+			typedQuery.setFirstResult((int) pageable.getOffset());
+			typedQuery.setMaxResults(pageable.getPageSize());
+		}
+		List<Map<String, Object>> content = typedQuery.getResultStream()
+				.map(tuple -> convertTupleToMap(tuple, fields))
+				.collect(Collectors.toList());
+		
+		return PageableExecutionUtils.getPage(content, pageable, () -> entityManager
+				.createQuery("SELECT COUNT(obj) FROM Movie obj", Long.class)
+				.getSingleResult());
+	}
+	
+	private List<Selection<?>> makeSelections(Root<Movie> root, Set<MovieField> fields) {
+		List<Selection<?>> selections = new ArrayList<>(fields.size());
+		for(MovieField field : fields) {
+			selections.add(root.get(field.getProperty()).alias(field.getProperty()));
+		}
+		return selections;
+	}
+	
+	private Map<String, Object> convertTupleToMap(Tuple tuple, Set<MovieField> fields) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		for(MovieField field : fields) {
+			map.put(field.getProperty(), tuple.get(field.getProperty()));
+		}
+		return map;
+	}
+	
+	@Override
+	public List<MovieOutputAllDTO> findAllByKeyset(KeysetCursor cursor, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<MovieOutputAllDTO> query = cb.createQuery(MovieOutputAllDTO.class);
+		Root<Movie> root = query.from(Movie.class);
+		query.select(cb.construct(MovieOutputAllDTO.class, root.get("id"), root.get("title"), root.get("note")));
+		
+		Path<Long> id = root.get("id");
+		Path<Comparable<Object>> key = root.get(cursor.getProperty());
+		boolean ascending = cursor.getDirection() == Direction.ASC;
+		
+		if(!cursor.isFirst()) {
+			query.where(makeSeekPredicate(cb, key, id, cursor, ascending));
+		}
+		
+		List<Order> orders = new ArrayList<>();
+		if(!cursor.getProperty().equals("id")) {
+			orders.add(ascending ? cb.asc(key) : cb.desc(key));
+		}
+		orders.add(ascending ? cb.asc(id) : cb.desc(id));
+		query.orderBy(orders);
+		
+		return entityManager.createQuery(query)
+				.setMaxResults(limit)
+				.getResultList();
+	}
+	
+	private Predicate makeSeekPredicate(
+			CriteriaBuilder cb, Path<Comparable<Object>> key, Path<Long> id, KeysetCursor cursor, boolean ascending) {
+		Long lastId = cursor.getLastId();
+		Predicate afterId = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+		if(cursor.getProperty().equals("id")) {
+			return afterId;
+		}
+		
+		Comparable<Object> lastValue = convertValue(key.getJavaType(), cursor.getLastValue());
+		Predicate afterKey = ascending ? cb.greaterThan(key, lastValue) : cb.lessThan(key, lastValue);
+		return cb.or(afterKey, cb.and(cb.equal(key, lastValue), afterId));
+	}
+	
+	@SuppressWarnings("unchecked")
+	private Comparable<Object> convertValue(Class<?> type, String value) {
+		try {
+			if(type == Double.class) {
+				return (Comparable<Object>) (Comparable<?>) Double.valueOf(value);
+			}
+			if(type == Long.class) {
+				return (Comparable<Object>) (Comparable<?>) Long.valueOf(value);
+			}
+			return (Comparable<Object>) (Comparable<?>) value;
+		}
+		catch(NumberFormatException e) {
+			throw new BadRequestException("Invalid cursor value: " + value);
+		}
+	}
+}
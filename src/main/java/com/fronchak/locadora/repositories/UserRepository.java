@@ -1,12 +1,33 @@
 package com.fronchak.locadora.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.fronchak.locadora.entities.User;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	User findByEmail(String email);
+	
+	@EntityGraph(attributePaths = "roles")
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+	User findWithRolesByEmail(String email);
+	
+	@Override
+	@EntityGraph(attributePaths = "roles")
+	Optional<User> findById(Long id);
+	
+	@Query("SELECT obj.email FROM User obj WHERE obj.email IN :emails")
+	List<String> findExistingEmails(Collection<String> emails);
 }
@@ -0,0 +1,16 @@
+package com.fronchak.locadora.repositories;
+
+import java.util.List;
+
+import com.fronchak.locadora.dtos.pagination.KeysetCursor;
+import com.fronchak.locadora.dtos.user.UserOutputDTO;
+import com.fronchak.locadora.entities.User;
+
+public interface UserRepositoryCustom {
+
+	void insertInBatches(List<User> entities);
+	
+	List<UserOutputDTO> findAllByKeyset(KeysetCursor cursor, Long roleId, int limit);
+	
+	void loadRoles(List<UserOutputDTO> users);
+}
@@ -0,0 +1,118 @@
+package com.fronchak.locadora.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fronchak.locadora.dtos.pagination.KeysetCursor;
+import com.fronchak.locadora.dtos.role.RoleOutputDTO;
+import com.fronchak.locadora.dtos.user.UserOutputDTO;
+import com.fronchak.locadora.entities.Role;
+import com.fronchak.locadora.entities.User;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+	private Integer batchSize;
+	
+	@Override
+	@Transactional
+	public void insertInBatches(List<User> entities) {
+		for(int i = 0; i < entities.size(); i++) {
+			entityManager.persist(entities.get(i));
+			if((i + 1) % batchSize == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+	
+	@Override
+	public List<UserOutputDTO> findAllByKeyset(KeysetCursor cursor, Long roleId, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<UserOutputDTO> query = cb.createQuery(UserOutputDTO.class);
+		Root<User> root = query.from(User.class);
+		query.select(cb.construct(UserOutputDTO.class, root.get("id"), root.get("email")));
+		
+		Path<Long> id = root.get("id");
+		Path<String> email = root.get("email");
+		boolean ascending = cursor.getDirection() == Direction.ASC;
+		
+		List<Predicate> predicates = new ArrayList<>();
+		if(roleId != null) {
+			Join<User, Role> role = root.join("roles");
+			predicates.add(cb.equal(role.get("id"), roleId));
+		}
+		if(!cursor.isFirst()) {
+			predicates.add(makeSeekPredicate(cb, email, id, cursor, ascending));
+		}
+		query.where(predicates.toArray(new Predicate[0]));
+		
+		List<Order> orders = new ArrayList<>();
+		if(cursor.getProperty().equals("email")) {
+			orders.add(ascending ? cb.asc(email) : cb.desc(email));
+		}
+		orders.add(ascending ? cb.asc(id) : cb.desc(id));
+		query.orderBy(orders);
+		
+		return entityManager.createQuery(query)
+				.setMaxResults(limit)
+				.getResultList();
+	}
+	
+	private Predicate makeSeekPredicate(
+			CriteriaBuilder cb, Path<String> email, Path<Long> id, KeysetCursor cursor, boolean ascending) {
+		Long lastId = cursor.getLastId();
+		Predicate afterId = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+		if(!cursor.getProperty().equals("email")) {
+			return afterId;
+		}
+		
+		String lastEmail = cursor.getLastValue();
+		Predicate afterEmail = ascending ? cb.greaterThan(email, lastEmail) : cb.lessThan(email, lastEmail);
+		return cb.or(afterEmail, cb.and(cb.equal(email, lastEmail), afterId));
+	}
+	
+	@Override
+	public void loadRoles(List<UserOutputDTO> users) {
+		if(users.isEmpty()) {
+			return;
+		}
+		Map<Long, UserOutputDTO> usersById = users.stream()
+				.collect(Collectors.toMap(UserOutputDTO::getId, Function.identity()));
+		
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<User> root = query.from(User.class);
+		Join<User, Role> role = root.join("roles");
+		query.multiselect(root.get("id"), role.get("id"), role.get("authority"));
+		query.where(root.get("id").in(usersById.keySet()));
+		
+		for(Tuple tuple : entityManager.createQuery(query).getResultList()) {
+			usersById.get(tuple.get(0, Long.class))
+				.addRole(new RoleOutputDTO(tuple.get(1, Long.class), tuple.get(2, String.class)));
+		}
+	}
+}
@@ -1,21 +1,60 @@
 package com.fronchak.locadora.services;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import javax.persistence.EntityNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fronchak.locadora.components.MovieSearchIndex;
+import com.fronchak.locadora.components.MovieTitleSuggester;
+import com.fronchak.locadora.components.MovieTopRanking;
+import com.fronchak.locadora.config.CacheConfig;
+import com.fronchak.locadora.dtos.movie.MovieBatchInsertDTO;
+import com.fronchak.locadora.dtos.movie.MovieExportFormat;
+import com.fronchak.locadora.dtos.movie.MovieField;
+import com.fronchak.locadora.dtos.movie.MovieInputDTO;
 import com.fronchak.locadora.dtos.movie.MovieInsertDTO;
+import com.fronchak.locadora.dtos.movie.MovieLookupOutputDTO;
 import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
 import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
 import com.fronchak.locadora.dtos.movie.MovieUpdateDTO;
+import com.fronchak.locadora.dtos.pagination.KeysetCursor;
+import com.fronchak.locadora.dtos.pagination.KeysetPageDTO;
+import com.fronchak.locadora.dtos.pagination.SliceDTO;
 import com.fronchak.locadora.entities.Movie;
+import com.fronchak.locadora.events.MovieChangedEvent;
+import com.fronchak.locadora.exceptions.BadRequestException;
+import com.fronchak.locadora.exceptions.ConflictException;
 import com.fronchak.locadora.exceptions.DatabaseException;
+import com.fronchak.locadora.exceptions.DuplicateFieldException;
+import com.fronchak.locadora.exceptions.PreconditionFailedException;
 import com.fronchak.locadora.exceptions.ResourceNotFoundException;
 import com.fronchak.locadora.mappers.MovieMapper;
 import com.fronchak.locadora.repositories.MovieRepository;
@@ -23,12 +62,33 @@ import com.fronchak.locadora.repositories.MovieRepository;
 @Service
 public class MovieService {
 
+	private static final Set<String> KEYSET_PROPERTIES = Set.of("id", "title", "note");
+	public static final int MAX_SEARCH_SIZE = 100;
+	public static final int MAX_SUGGEST_SIZE = 20;
+	public static final int MAX_LOOKUP_SIZE = 100;
+	
 	@Autowired
 	private MovieRepository repository;
 	
 	@Autowired
 	private MovieMapper mapper;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	
+	@Autowired
+	private MovieSearchIndex searchIndex;
+	
+	@Autowired
+	private MovieTitleSuggester titleSuggester;
+	
+	@Autowired
+	private MovieTopRanking topRanking;
 
+	@Cacheable(cacheNames = CacheConfig.MOVIES_CACHE, key = "#id", sync = true)
 	@Transactional(readOnly = true)
 	public MovieOutputDTO findById(Long id) {
 		Movie entity = repository.findById(id)
@@ -36,36 +96,218 @@ public class MovieService {
 		return mapper.convertEntityToOutputDTO(entity);
 	}
 	
+	@Transactional(readOnly = true)
+	public Map<String, Object> findFieldsById(Long id, String fields) {
+		return repository.findFieldsById(id, MovieField.parse(fields))
+				.orElseThrow(() -> new ResourceNotFoundException("Movie", id.toString()));
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> findFieldsPaged(String fields, Pageable pageable) {
+		return repository.findFieldsPaged(MovieField.parse(fields), pageable);
+	}
+	
+	@Transactional(readOnly = true)
+	public MovieLookupOutputDTO findAllByIds(List<Long> ids) {
+		Set<Long> requestedIds = new LinkedHashSet<>(ids);
+		requestedIds.remove(null);
+		if(requestedIds.isEmpty() || requestedIds.size() > MAX_LOOKUP_SIZE) {
+			throw new BadRequestException("Between 1 and " + MAX_LOOKUP_SIZE + " distinct movie ids must be informed");
+		}
+		
+		Map<Long, Movie> entities = repository.findAllById(requestedIds).stream()
+				.collect(Collectors.toMap(Movie::getId, Function.identity()));
+		List<MovieOutputDTO> content = new ArrayList<>(entities.size());
+		List<Long> missingIds = new ArrayList<>();
+		for(Long id : requestedIds) {
+			Movie entity = entities.get(id);
+			if(entity == null) {
+				missingIds.add(id);
+			}
+			else {
+				content.add(mapper.convertEntityToOutputDTO(entity));
+			}
+		}
+		return new MovieLookupOutputDTO(content, missingIds);
+	}
+	
 	@Transactional(readOnly = true)
 	public Page<MovieOutputAllDTO> findAllPaged(Pageable pageable) {
-		Page<Movie> page = repository.findAll(pageable);
-		return mapper.convertEntityPageToOutputAllDTOPage(page);
+		return repository.findAllProjected(pageable);
+	}
+	
+	@Transactional(readOnly = true)
+	public SliceDTO<MovieOutputAllDTO> findAllSliced(Pageable pageable) {
+		return new SliceDTO<>(repository.findAllSliced(pageable));
+	}
+	
+	@Transactional(readOnly = true)
+	public KeysetPageDTO<MovieOutputAllDTO> findAllByKeyset(String after, Pageable pageable) {
+		KeysetCursor cursor = after.isBlank() ? makeFirstCursor(pageable.getSort()) : KeysetCursor.decode(after);
+		if(!KEYSET_PROPERTIES.contains(cursor.getProperty())) {
+			throw new BadRequestException("Movies cannot be sorted by " + cursor.getProperty() + " in keyset mode");
+		}
+		
+		int size = pageable.getPageSize();
+		List<MovieOutputAllDTO> content = repository.findAllByKeyset(cursor, size + 1);
+		boolean hasNext = content.size() > size;
+		if(!hasNext) {
+			return new KeysetPageDTO<>(content, size, false, null);
+		}
+		
+		content = content.subList(0, size);
+		MovieOutputAllDTO last = content.get(size - 1);
+		String next = cursor.after(last.getId(), getKeysetValue(last, cursor.getProperty())).encode();
+		return new KeysetPageDTO<>(content, size, true, next);
+	}
+	
+	private KeysetCursor makeFirstCursor(Sort sort) {
+		Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+		return KeysetCursor.first(order.getProperty(), order.getDirection());
+	}
+	
+	private Object getKeysetValue(MovieOutputAllDTO dto, String property) {
+		switch(property) {
+		case "title":
+			return dto.getTitle();
+		case "note":
+			return dto.getNote();
+		default:
+			return dto.getId();
+		}
+	}
+	
+	public List<MovieOutputAllDTO> findTop(int n) {
+		if(n < 1 || n > topRanking.getCapacity()) {
+			throw new BadRequestException("The number of top movies must be between 1 and " + topRanking.getCapacity());
+		}
+		return topRanking.findTop(n);
+	}
+	
+	public List<MovieOutputAllDTO> search(String query, int size) {
+		if(query == null || query.isBlank()) {
+			throw new BadRequestException("The search query cannot be blank");
+		}
+		if(size < 1 || size > MAX_SEARCH_SIZE) {
+			throw new BadRequestException("The search size must be between 1 and " + MAX_SEARCH_SIZE);
+		}
+		return searchIndex.search(query, size);
+	}
+	
+	public List<MovieOutputAllDTO> suggest(String prefix, int size) {
+		if(prefix == null || prefix.isBlank()) {
+			throw new BadRequestException("The suggestion prefix cannot be blank");
+		}
+		if(size < 1 || size > MAX_SUGGEST_SIZE) {
+			throw new BadRequestException("The suggestion size must be between 1 and " + MAX_SUGGEST_SIZE);
+		}
+		return titleSuggester.suggest(prefix, size);
+	}
+	
+	@Transactional(readOnly = true)
+	public void export(MovieExportFormat format, OutputStream outputStream) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		if(format == MovieExportFormat.CSV) {
+			writer.write("id,title,synopsis,durationInMinutes,note\n");
+		}
+		try(Stream<MovieOutputDTO> movies = repository.streamAllForExport()) {
+			Iterator<MovieOutputDTO> iterator = movies.iterator();
+			while(iterator.hasNext()) {
+				MovieOutputDTO dto = iterator.next();
+				writer.write(format == MovieExportFormat.CSV ? convertToCsvLine(dto) : objectMapper.writeValueAsString(dto));
+				writer.write('\n');
+			}
+		}
+		writer.flush();
+	}
+	
+	private String convertToCsvLine(MovieOutputDTO dto) {
+		return Stream.of(dto.getId(), dto.getTitle(), dto.getSynopsis(), dto.getDurationInMinutes(), dto.getNote())
+				.map(this::escapeCsvValue)
+				.collect(Collectors.joining(","));
+	}
+	
+	private String escapeCsvValue(Object value) {
+		if(value == null) {
+			return "";
+		}
+		String text = value.toString();
+		if(text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+			return "\"" + text.replace("\"", "\"\"") + "\"";
+		}
+		return text;
 	}
 	
 	@Transactional
 	public MovieOutputDTO save(MovieInsertDTO dto) {
-		Movie entity = new Movie();
-		mapper.copyDTOToEntity(dto, entity);
-		entity = repository.save(entity);
-		return mapper.convertEntityToOutputDTO(entity);
+		try {
+			Movie entity = new Movie();
+			mapper.copyDTOToEntity(dto, entity);
+			entity = repository.saveAndFlush(entity);
+			eventPublisher.publishEvent(MovieChangedEvent.saved(List.of(entity)));
+			return mapper.convertEntityToOutputDTO(entity);
+		}
+		catch(DataIntegrityViolationException e) {
+			throw translateDataIntegrityViolation(e);
+		}
 	}
 	
 	@Transactional
-	public MovieOutputDTO update(MovieUpdateDTO dto, Long id) {
+	public List<MovieOutputAllDTO> saveAll(MovieBatchInsertDTO dto) {
+		try {
+			List<Movie> entities = new ArrayList<>(dto.getMovies().size());
+			for(MovieInputDTO inputDTO : dto.getMovies()) {
+				Movie entity = new Movie();
+				mapper.copyDTOToEntity(inputDTO, entity);
+				entities.add(entity);
+			}
+			repository.insertInBatches(entities);
+			eventPublisher.publishEvent(MovieChangedEvent.saved(entities));
+			return entities.stream().map(MovieOutputAllDTO::new).collect(Collectors.toList());
+		}
+		catch(DataIntegrityViolationException e) {
+			throw translateDataIntegrityViolation(e);
+		}
+	}
+	
+	@Transactional
+	public MovieOutputDTO update(MovieUpdateDTO dto, Long id, Integer expectedVersion) {
 		try {
 			Movie entity = repository.getReferenceById(id);
+			if(expectedVersion != null && !expectedVersion.equals(entity.getVersion())) {
+				throw new PreconditionFailedException("Movie " + id + " was modified by another request");
+			}
 			mapper.copyDTOToEntity(dto, entity);
-			entity = repository.save(entity);
+			entity = repository.saveAndFlush(entity);
+			eventPublisher.publishEvent(MovieChangedEvent.saved(List.of(entity)));
 			return mapper.convertEntityToOutputDTO(entity);			
 		}
 		catch(EntityNotFoundException e) {
 			throw new ResourceNotFoundException("Movie", id.toString());
 		}
+		catch(ObjectOptimisticLockingFailureException e) {
+			if(expectedVersion != null) {
+				throw new PreconditionFailedException("Movie " + id + " was modified by another request");
+			}
+			throw new ConflictException("Movie " + id + " was modified by another request, reload it and try again");
+		}
+		catch(DataIntegrityViolationException e) {
+			throw translateDataIntegrityViolation(e);
+		}
+	}
+	
+	private RuntimeException translateDataIntegrityViolation(DataIntegrityViolationException e) {
+		String message = e.getMostSpecificCause().getMessage();
+		if(message != null && message.toLowerCase().contains(Movie.TITLE_CONSTRAINT)) {
+			return new DuplicateFieldException("title", "There is another movie with the same title already saved");
+		}
+		return new DatabaseException("Invalid movie data");
 	}
 	
 	public void delete(Long id) {
 		try {
 			repository.deleteById(id);	
+			eventPublisher.publishEvent(MovieChangedEvent.deleted(id));
 		}
 		catch(EmptyResultDataAccessException e) {
 			throw new ResourceNotFoundException("Movie", id.toString());
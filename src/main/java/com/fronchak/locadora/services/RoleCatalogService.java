@@ -0,0 +1,59 @@
+package com.fronchak.locadora.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fronchak.locadora.entities.Role;
+import com.fronchak.locadora.exceptions.ResourceNotFoundException;
+import com.fronchak.locadora.repositories.RoleRepository;
+
+@Service
+public class RoleCatalogService {
+
+	@Autowired
+	private RoleRepository repository;
+	
+	private volatile Map<Long, Role> roles;
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void refresh() {
+		roles = repository.findAll().stream()
+				.collect(Collectors.toUnmodifiableMap(Role::getId, Function.identity()));
+	}
+	
+	public Role getById(Long id) {
+		Role role = getCatalog().get(id);
+		if(role == null) {
+			throw new ResourceNotFoundException("Role", String.valueOf(id));
+		}
+		return role;
+	}
+	
+	public List<Long> findMissingIds(Collection<Long> ids) {
+		Map<Long, Role> catalog = getCatalog();
+		return ids.stream()
+				.filter(Objects::nonNull)
+				.filter(id -> !catalog.containsKey(id))
+				.distinct()
+				.sorted()
+				.collect(Collectors.toList());
+	}
+	
+	private Map<Long, Role> getCatalog() {
+		Map<Long, Role> catalog = roles;
+		if(catalog == null) {
+			refresh();
+			catalog = roles;
+		}
+		return catalog;
+	}
+}
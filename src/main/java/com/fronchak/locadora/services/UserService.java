@@ -1,43 +1,72 @@
 package com.fronchak.locadora.services;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import javax.persistence.EntityNotFoundException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.fronchak.locadora.components.BoundedPasswordEncoder;
+import com.fronchak.locadora.dtos.pagination.KeysetCursor;
+import com.fronchak.locadora.dtos.pagination.KeysetPageDTO;
+import com.fronchak.locadora.dtos.role.RoleInputDTO;
+import com.fronchak.locadora.dtos.user.UserBatchInsertDTO;
+import com.fronchak.locadora.dtos.user.UserBatchInsertOutputDTO;
+import com.fronchak.locadora.dtos.user.UserBatchItemOutputDTO;
 import com.fronchak.locadora.dtos.user.UserInputDTO;
 import com.fronchak.locadora.dtos.user.UserInsertDTO;
 import com.fronchak.locadora.dtos.user.UserOutputDTO;
 import com.fronchak.locadora.dtos.user.UserUpdateDTO;
 import com.fronchak.locadora.entities.User;
+import com.fronchak.locadora.exceptions.BadRequestException;
 import com.fronchak.locadora.exceptions.DatabaseException;
+import com.fronchak.locadora.exceptions.DuplicateFieldException;
 import com.fronchak.locadora.exceptions.InvalidPasswordException;
 import com.fronchak.locadora.exceptions.ResourceNotFoundException;
 import com.fronchak.locadora.mappers.UserMapper;
-import com.fronchak.locadora.repositories.RoleRepository;
 import com.fronchak.locadora.repositories.UserRepository;
 
 @Service
 public class UserService implements UserDetailsService {
 
+	private static final Set<String> KEYSET_PROPERTIES = Set.of("id", "email");
+
 	@Autowired
 	private UserRepository repository;
 	
 	@Autowired
-	private RoleRepository roleRepository;
+	private RoleCatalogService roleCatalog;
 	
 	@Autowired
 	private UserMapper mapper;
 	
 	@Autowired
-	private BCryptPasswordEncoder passwordEncoder;
+	private PasswordEncoder passwordEncoder;
+	
+	@Autowired
+	private Validator validator;
+	
+	@Autowired
+	private PlatformTransactionManager transactionManager;
 	
 	@Transactional(readOnly = true)
 	public UserOutputDTO findById(Long id) {
@@ -46,27 +75,155 @@ public class UserService implements UserDetailsService {
 		return mapper.convertEntityToOutputDTO(entity);
 	}
 	
+	@Transactional(readOnly = true)
+	public KeysetPageDTO<UserOutputDTO> findAllByKeyset(String after, Long roleId, Pageable pageable) {
+		KeysetCursor cursor = after.isBlank() ? makeFirstCursor(pageable.getSort()) : KeysetCursor.decode(after);
+		if(!KEYSET_PROPERTIES.contains(cursor.getProperty())) {
+			throw new BadRequestException("Users cannot be sorted by " + cursor.getProperty() + " in keyset mode");
+		}
+		
+		int size = pageable.getPageSize();
+		List<UserOutputDTO> content = repository.findAllByKeyset(cursor, roleId, size + 1);
+		boolean hasNext = content.size() > size;
+		if(hasNext) {
+			content = content.subList(0, size);
+		}
+		repository.loadRoles(content);
+		if(!hasNext) {
+			return new KeysetPageDTO<>(content, size, false, null);
+		}
+		
+		UserOutputDTO last = content.get(size - 1);
+		Object lastValue = cursor.getProperty().equals("email") ? last.getEmail() : last.getId();
+		String next = cursor.after(last.getId(), lastValue).encode();
+		return new KeysetPageDTO<>(content, size, true, next);
+	}
+	
+	private KeysetCursor makeFirstCursor(Sort sort) {
+		Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+		return KeysetCursor.first(order.getProperty(), order.getDirection());
+	}
+	
 	@Transactional
 	public UserOutputDTO save(UserInsertDTO insertDTO) {
 		try {
 			User entity = new User();
 			copyDTOToEntity(insertDTO, entity);
-			entity = repository.save(entity);
+			entity = repository.saveAndFlush(entity);
 			return mapper.convertEntityToOutputDTO(entity);		
 		}
-		catch(EntityNotFoundException e) {
-			throw new ResourceNotFoundException("Invalid role id");
-		}
 		catch(DataIntegrityViolationException e) {
-			throw new DatabaseException("Invalid role ID");
+			throw translateDataIntegrityViolation(e);
 		}
 	}
 	
 	private void copyDTOToEntity(UserInputDTO dto, User entity) {
+		copyDTOToEntity(dto, entity, passwordEncoder.encode(dto.getPassword()));
+	}
+	
+	private void copyDTOToEntity(UserInputDTO dto, User entity, String encodedPassword) {
 		mapper.copyDTOToEntity(dto, entity);
-		entity.getRoles().clear();
-		dto.getRoles().forEach(role -> entity.addRole(roleRepository.getReferenceById(role.getId())));
-		entity.setPassword(passwordEncoder.encode(dto.getPassword()));
+		entity.clearRoles();
+		dto.getRoles().forEach(role -> entity.addRole(roleCatalog.getById(role.getId())));
+		entity.setPassword(encodedPassword);
+	}
+	
+	public UserBatchInsertOutputDTO saveAll(UserBatchInsertDTO dto) {
+		List<UserInputDTO> users = dto.getUsers();
+		Set<String> existingEmails = new HashSet<>(repository.findExistingEmails(users.stream()
+				.filter(Objects::nonNull)
+				.map(UserInputDTO::getEmail)
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toList())));
+		Set<String> batchEmails = new HashSet<>();
+		
+		List<UserBatchItemOutputDTO> results = new ArrayList<>(users.size());
+		List<UserBatchItemOutputDTO> acceptedResults = new ArrayList<>();
+		List<UserInputDTO> acceptedUsers = new ArrayList<>();
+		for(int i = 0; i < users.size(); i++) {
+			UserInputDTO user = users.get(i);
+			UserBatchItemOutputDTO result = new UserBatchItemOutputDTO(i, user == null ? null : user.getEmail());
+			if(user == null) {
+				result.addError("User must be specified");
+			}
+			else {
+				validateBatchItem(user, result, existingEmails, batchEmails);
+			}
+			result.setCreated(result.getErrors().isEmpty());
+			results.add(result);
+			if(result.getCreated()) {
+				acceptedResults.add(result);
+				acceptedUsers.add(user);
+			}
+		}
+		
+		List<String> encodedPasswords = encodeAll(acceptedUsers.stream()
+				.map(UserInputDTO::getPassword)
+				.collect(Collectors.toList()));
+		List<User> entities = new ArrayList<>(acceptedUsers.size());
+		for(int i = 0; i < acceptedUsers.size(); i++) {
+			User entity = new User();
+			copyDTOToEntity(acceptedUsers.get(i), entity, encodedPasswords.get(i));
+			entities.add(entity);
+		}
+		
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		try {
+			transaction.executeWithoutResult(status -> repository.insertInBatches(entities));
+			for(int i = 0; i < entities.size(); i++) {
+				acceptedResults.get(i).setId(entities.get(i).getId());
+			}
+		}
+		catch(DataIntegrityViolationException e) {
+			// Another request took one of the emails, so retry each user on its own to find out which one
+			for(int i = 0; i < acceptedUsers.size(); i++) {
+				User entity = new User();
+				copyDTOToEntity(acceptedUsers.get(i), entity, encodedPasswords.get(i));
+				UserBatchItemOutputDTO result = acceptedResults.get(i);
+				try {
+					result.setId(transaction.execute(status -> repository.saveAndFlush(entity)).getId());
+				}
+				catch(DataIntegrityViolationException ex) {
+					result.setCreated(false);
+					result.addError(translateDataIntegrityViolation(ex).getMessage());
+				}
+			}
+		}
+		return new UserBatchInsertOutputDTO(results);
+	}
+	
+	private void validateBatchItem(
+			UserInputDTO user, UserBatchItemOutputDTO result, Set<String> existingEmails, Set<String> batchEmails) {
+		validator.validate(user).stream()
+				.map(ConstraintViolation::getMessage)
+				.sorted()
+				.forEach(result::addError);
+		if(user.getEmail() != null && existingEmails.contains(user.getEmail())) {
+			result.addError("Email already been used, please choose another one");
+		}
+		else if(user.getEmail() != null && !batchEmails.add(user.getEmail())) {
+			result.addError("Email is repeated in this batch");
+		}
+		if(user.getRoles() == null) {
+			return;
+		}
+		List<Long> roleIds = user.getRoles().stream()
+				.filter(Objects::nonNull)
+				.map(RoleInputDTO::getId)
+				.collect(Collectors.toList());
+		if(roleIds.stream().anyMatch(Objects::isNull)) {
+			result.addError("User's role must be specified");
+		}
+		roleCatalog.findMissingIds(roleIds.stream().filter(Objects::nonNull).collect(Collectors.toList()))
+				.forEach(roleId -> result.addError("Role " + roleId + " does not exist"));
+	}
+	
+	private List<String> encodeAll(List<String> rawPasswords) {
+		if(passwordEncoder instanceof BoundedPasswordEncoder) {
+			return ((BoundedPasswordEncoder) passwordEncoder).encodeAll(rawPasswords);
+		}
+		return rawPasswords.stream().map(passwordEncoder::encode).collect(Collectors.toList());
 	}
 	
 	@Transactional
@@ -77,15 +234,23 @@ public class UserService implements UserDetailsService {
 				throw new InvalidPasswordException("Invalid password, please try again");
 			}
 			copyDTOToEntity(updateDTO, entity);
-			entity = repository.save(entity);
+			entity = repository.saveAndFlush(entity);
 			return mapper.convertEntityToOutputDTO(entity);
 		}
 		catch(EntityNotFoundException e) {
 			throw new ResourceNotFoundException("User", id.toString());
 		}
 		catch(DataIntegrityViolationException e) {
-			throw new DatabaseException("Invalid role ID");
+			throw translateDataIntegrityViolation(e);
+		}
+	}
+	
+	private RuntimeException translateDataIntegrityViolation(DataIntegrityViolationException e) {
+		String message = e.getMostSpecificCause().getMessage();
+		if(message != null && message.toLowerCase().contains(User.EMAIL_CONSTRAINT)) {
+			return new DuplicateFieldException("email", "Email already been used, please choose another one");
 		}
+		return new DatabaseException("Invalid user data");
 	}
 	
 	private boolean isPasswordInvalid(UserUpdateDTO updateDTO, User entity) {
@@ -111,10 +276,12 @@ public class UserService implements UserDetailsService {
 	@Override
 	@Transactional(readOnly = true)
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		User entity = repository.findByEmail(username);
+		User entity = repository.findWithRolesByEmail(username);
 		if(entity == null) {
 			throw new UsernameNotFoundException("Username not found: " + username);
 		}
+		// A query cache hit skips the entity graph, so resolve the roles while the session is still open
+		entity.getAuthorities();
 		return entity;
 	}
 }
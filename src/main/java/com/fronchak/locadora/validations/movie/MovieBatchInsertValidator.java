@@ -0,0 +1,70 @@
+package com.fronchak.locadora.validations.movie;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.fronchak.locadora.dtos.movie.MovieBatchInsertDTO;
+import com.fronchak.locadora.dtos.movie.MovieInputDTO;
+import com.fronchak.locadora.exceptions.FieldMessage;
+import com.fronchak.locadora.repositories.MovieRepository;
+
+public class MovieBatchInsertValidator implements ConstraintValidator<MovieBatchInsertValid, MovieBatchInsertDTO> {
+
+	private static final int QUERY_CHUNK_SIZE = 1000;
+	
+	@Autowired
+	private MovieRepository repository;
+	
+	@Override
+	public boolean isValid(MovieBatchInsertDTO dto, ConstraintValidatorContext context) {
+		
+		List<FieldMessage> errors = new ArrayList<>();
+		
+		List<MovieInputDTO> movies = dto.getMovies() == null ? List.of() : dto.getMovies();
+		Set<String> existingTitles = findExistingTitles(movies);
+		Set<String> batchTitles = new HashSet<>();
+		for(int i = 0; i < movies.size(); i++) {
+			String title = movies.get(i) == null ? null : movies.get(i).getTitle();
+			if(title == null) {
+				continue;
+			}
+			if(existingTitles.contains(title)) {
+				errors.add(new FieldMessage("movies[" + i + "].title", "There is another movie with the same title already saved"));
+			}
+			else if(!batchTitles.add(title)) {
+				errors.add(new FieldMessage("movies[" + i + "].title", "There is another movie with the same title in this batch"));
+			}
+		}
+		
+		for (FieldMessage e : errors) {
+			context.disableDefaultConstraintViolation();
+			context.buildConstraintViolationWithTemplate(e.getMessage()).addPropertyNode(e.getFieldName())
+					.addConstraintViolation();
+		}
+		
+		return errors.isEmpty();
+	}
+	
+	private Set<String> findExistingTitles(List<MovieInputDTO> movies) {
+		List<String> titles = movies.stream()
+				.filter(Objects::nonNull)
+				.map(MovieInputDTO::getTitle)
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toList());
+		Set<String> existingTitles = new HashSet<>();
+		for(int i = 0; i < titles.size(); i += QUERY_CHUNK_SIZE) {
+			existingTitles.addAll(repository.findExistingTitles(titles.subList(i, Math.min(i + QUERY_CHUNK_SIZE, titles.size()))));
+		}
+		return existingTitles;
+	}
+}
@@ -9,7 +9,6 @@ import javax.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.fronchak.locadora.dtos.movie.MovieInsertDTO;
-import com.fronchak.locadora.entities.Movie;
 import com.fronchak.locadora.exceptions.FieldMessage;
 import com.fronchak.locadora.repositories.MovieRepository;
 
@@ -23,8 +22,7 @@ public class MovieInsertValidator implements ConstraintValidator<MovieInsertVali
 		
 		List<FieldMessage> errors = new ArrayList<>();
 		
-		Movie entity = repository.findByTitle(dto.getTitle());
-		if(entity != null) {
+		if(repository.existsByTitle(dto.getTitle())) {
 			errors.add(new FieldMessage("title", "There is another movie with the same title already saved"));
 		}
 		
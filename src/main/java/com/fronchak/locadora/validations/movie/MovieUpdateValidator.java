@@ -3,6 +3,7 @@ package com.fronchak.locadora.validations.movie;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.ConstraintValidator;
@@ -12,7 +13,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.servlet.HandlerMapping;
 
 import com.fronchak.locadora.dtos.movie.MovieUpdateDTO;
-import com.fronchak.locadora.entities.Movie;
 import com.fronchak.locadora.exceptions.FieldMessage;
 import com.fronchak.locadora.repositories.MovieRepository;
 
@@ -32,8 +32,8 @@ public class MovieUpdateValidator implements ConstraintValidator<MovieUpdateVali
 		Map<String, String> uriVars = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
 		Long id = Long.parseLong(uriVars.get("id"));
 		
-		Movie entity = repository.findByTitle(dto.getTitle());
-		if(entity != null && !entity.getId().equals(id)) {
+		Optional<Long> movieId = repository.findIdByTitle(dto.getTitle());
+		if(movieId.isPresent() && !movieId.get().equals(id)) {
 			errors.add(new FieldMessage("title", "There is another movie with the same title already saved"));
 		}
 		
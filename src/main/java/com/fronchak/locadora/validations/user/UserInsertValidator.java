@@ -2,22 +2,29 @@ package com.fronchak.locadora.validations.user;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.fronchak.locadora.dtos.role.RoleInputDTO;
 import com.fronchak.locadora.dtos.user.UserInsertDTO;
 import com.fronchak.locadora.entities.User;
 import com.fronchak.locadora.exceptions.FieldMessage;
 import com.fronchak.locadora.repositories.UserRepository;
+import com.fronchak.locadora.services.RoleCatalogService;
 
 public class UserInsertValidator implements ConstraintValidator<UserInsertValid, UserInsertDTO> {
 	
 	@Autowired
 	private UserRepository repository;
 	
+	@Autowired
+	private RoleCatalogService roleCatalog;
+	
 	@Override
 	public boolean isValid(UserInsertDTO dto, ConstraintValidatorContext context) {
 		
@@ -28,6 +35,16 @@ public class UserInsertValidator implements ConstraintValidator<UserInsertValid,
 			errors.add(new FieldMessage("email", "Email already been used, please choose another one"));
 		}
 		
+		if(dto.getRoles() != null) {
+			List<Long> roleIds = dto.getRoles().stream()
+					.filter(Objects::nonNull)
+					.map(RoleInputDTO::getId)
+					.collect(Collectors.toList());
+			for(Long roleId : roleCatalog.findMissingIds(roleIds)) {
+				errors.add(new FieldMessage("roles", "Role " + roleId + " does not exist"));
+			}
+		}
+		
 		for (FieldMessage e : errors) {
 			context.disableDefaultConstraintViolation();
 			context.buildConstraintViolationWithTemplate(e.getMessage()).addPropertyNode(e.getFieldName())
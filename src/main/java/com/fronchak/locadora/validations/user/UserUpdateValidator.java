@@ -3,6 +3,8 @@ package com.fronchak.locadora.validations.user;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.ConstraintValidator;
@@ -11,16 +13,21 @@ import javax.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.servlet.HandlerMapping;
 
+import com.fronchak.locadora.dtos.role.RoleInputDTO;
 import com.fronchak.locadora.dtos.user.UserUpdateDTO;
 import com.fronchak.locadora.entities.User;
 import com.fronchak.locadora.exceptions.FieldMessage;
 import com.fronchak.locadora.repositories.UserRepository;
+import com.fronchak.locadora.services.RoleCatalogService;
 
 public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid, UserUpdateDTO> {
 	
 	@Autowired
 	private UserRepository repository;
 	
+	@Autowired
+	private RoleCatalogService roleCatalog;
+	
 	@Autowired
 	private HttpServletRequest request;
 	
@@ -37,6 +44,16 @@ public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid,
 			errors.add(new FieldMessage("email", "Email already been used, please choose another one"));
 		}
 		
+		if(dto.getRoles() != null) {
+			List<Long> roleIds = dto.getRoles().stream()
+					.filter(Objects::nonNull)
+					.map(RoleInputDTO::getId)
+					.collect(Collectors.toList());
+			for(Long roleId : roleCatalog.findMissingIds(roleIds)) {
+				errors.add(new FieldMessage("roles", "Role " + roleId + " does not exist"));
+			}
+		}
+		
 		for (FieldMessage e : errors) {
 			context.disableDefaultConstraintViolation();
 			context.buildConstraintViolationWithTemplate(e.getMessage()).addPropertyNode(e.getFieldName())
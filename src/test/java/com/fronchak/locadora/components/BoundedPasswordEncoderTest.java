@@ -0,0 +1,101 @@
+package com.fronchak.locadora.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.fronchak.locadora.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class BoundedPasswordEncoderTest {
+
+	private static final long RETRY_AFTER = 5L;
+	
+	private SimpleMeterRegistry registry;
+	private BoundedPasswordEncoder encoder;
+	
+	@BeforeEach
+	public void setUp() {
+		registry = new SimpleMeterRegistry();
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		encoder.destroy();
+	}
+	
+	@Test
+	public void encodeAndMatchesShouldDelegateToWrappedEncoderAndRecordLatency() {
+		encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 2, RETRY_AFTER, registry);
+		
+		String encoded = encoder.encode("123456");
+		
+		assertTrue(encoder.matches("123456", encoded));
+		assertFalse(encoder.matches("654321", encoded));
+		assertEquals(1L, registry.get(BoundedPasswordEncoder.METRIC_NAME).tag("operation", "encode").timer().count());
+		assertEquals(2L, registry.get(BoundedPasswordEncoder.METRIC_NAME).tag("operation", "matches").timer().count());
+		assertNotNull(registry.get("executor.queued").tag("name", BoundedPasswordEncoder.METRIC_NAME).gauge());
+	}
+	
+	@Test
+	public void encodeAllShouldEncodeEveryPasswordInOrderEvenWhenBatchIsLargerThanQueue() {
+		encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 1, RETRY_AFTER, registry);
+		List<String> rawPasswords = List.of("pass-0", "pass-1", "pass-2", "pass-3", "pass-4");
+		
+		List<String> encoded = encoder.encodeAll(rawPasswords);
+		
+		assertEquals(rawPasswords.size(), encoded.size());
+		for(int i = 0; i < rawPasswords.size(); i++) {
+			assertTrue(encoder.matches(rawPasswords.get(i), encoded.get(i)));
+		}
+		assertEquals(5L, registry.get(BoundedPasswordEncoder.METRIC_NAME).tag("operation", "encode").timer().count());
+	}
+	
+	@Test
+	public void encodeShouldThrowServiceUnavailableExceptionWhenPoolAndQueueAreFull() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				started.countDown();
+				try {
+					release.await();
+				}
+				catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.encode(rawPassword);
+			}
+		};
+		encoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, RETRY_AFTER, registry);
+		
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("running"));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+		while(registry.get("executor.queued").tag("name", BoundedPasswordEncoder.METRIC_NAME).gauge().value() < 1) {
+			Thread.sleep(10);
+		}
+		
+		ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class, () -> encoder.encode("rejected"));
+		
+		assertEquals(RETRY_AFTER, e.getRetryAfter());
+		release.countDown();
+		assertNotNull(running.get(5, TimeUnit.SECONDS));
+		assertNotNull(queued.get(5, TimeUnit.SECONDS));
+	}
+}
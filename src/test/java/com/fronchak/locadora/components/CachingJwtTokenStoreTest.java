@@ -0,0 +1,114 @@
+package com.fronchak.locadora.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class CachingJwtTokenStoreTest {
+
+	private static final String USERNAME = "fronchak@gmail.com";
+	
+	private static final long NOW = 1_700_000_000_000L;
+	
+	private AtomicInteger decodeCount;
+	private AtomicLong nanos;
+	private JwtAccessTokenConverter converter;
+	private SimpleMeterRegistry registry;
+	private CachingJwtTokenStore tokenStore;
+	
+	@BeforeEach
+	public void setUp() throws Exception {
+		decodeCount = new AtomicInteger();
+		converter = new JwtAccessTokenConverter() {
+			@Override
+			protected Map<String, Object> decode(String token) {
+				decodeCount.incrementAndGet();
+				return super.decode(token);
+			}
+		};
+		converter.setSigningKey("MY-JWT-SECRET");
+		converter.afterPropertiesSet();
+		registry = new SimpleMeterRegistry();
+		nanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(NOW));
+		tokenStore = new CachingJwtTokenStore(converter, 100, registry, nanos::get);
+	}
+	
+	private String mockTokenValue(Date expiration) {
+		OAuth2Request request = new OAuth2Request(null, "myclientid", null, true, null, null, null, null, null);
+		OAuth2Authentication authentication = new OAuth2Authentication(request, new UsernamePasswordAuthenticationToken(
+				USERNAME, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+		DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken("token");
+		token.setExpiration(expiration);
+		return converter.enhance(token, authentication).getValue();
+	}
+	
+	@Test
+	public void readShouldVerifyTokenOnlyOnceWhileItIsNotExpired() {
+		String tokenValue = mockTokenValue(new Date(NOW + 60000L));
+		
+		for(int i = 0; i < 3; i++) {
+			OAuth2AccessToken accessToken = tokenStore.readAccessToken(tokenValue);
+			OAuth2Authentication authentication = tokenStore.readAuthentication(accessToken);
+			assertEquals(USERNAME, authentication.getName());
+			assertEquals("ROLE_ADMIN", authentication.getAuthorities().iterator().next().getAuthority());
+		}
+		
+		assertEquals(2, decodeCount.get());
+		assertEquals(5.0, registry.get("cache.gets").tag("cache", CachingJwtTokenStore.CACHE_NAME).tag("result", "hit").functionCounter().count());
+	}
+	
+	@Test
+	public void readAuthenticationShouldReturnNewInstanceOnEachCall() {
+		String tokenValue = mockTokenValue(new Date(NOW + 60000L));
+		
+		OAuth2Authentication first = tokenStore.readAuthentication(tokenValue);
+		first.setDetails("request details");
+		OAuth2Authentication second = tokenStore.readAuthentication(tokenValue);
+		
+		assertNotSame(first, second);
+		assertNull(second.getDetails());
+	}
+	
+	@Test
+	public void readShouldVerifyTokenAgainWhenTokenIsExpired() {
+		String tokenValue = mockTokenValue(new Date(NOW - 1000L));
+		
+		tokenStore.readAccessToken(tokenValue);
+		tokenStore.readAccessToken(tokenValue);
+		
+		assertEquals(4, decodeCount.get());
+	}
+	
+	@Test
+	public void readShouldVerifyTokenAgainWhenCacheTickerPassesTokenExpiration() {
+		String tokenValue = mockTokenValue(new Date(NOW + 60000L));
+		
+		tokenStore.readAccessToken(tokenValue);
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+		tokenStore.readAccessToken(tokenValue);
+		assertEquals(2, decodeCount.get());
+		
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		tokenStore.readAccessToken(tokenValue);
+		assertEquals(4, decodeCount.get());
+	}
+}
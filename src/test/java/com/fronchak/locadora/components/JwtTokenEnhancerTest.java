@@ -0,0 +1,74 @@
+package com.fronchak.locadora.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.fronchak.locadora.entities.User;
+import com.fronchak.locadora.mocks.UserMocksFactory;
+import com.fronchak.locadora.services.UserService;
+
+@ExtendWith(SpringExtension.class)
+public class JwtTokenEnhancerTest {
+
+	@Mock
+	private UserService userService;
+	
+	@InjectMocks
+	private JwtTokenEnhancer enhancer;
+	
+	@Test
+	public void enhanceShouldUseAuthenticatedPrincipalWithoutLoadingUser() {
+		User user = UserMocksFactory.mockUserEntity();
+		OAuth2Authentication authentication = mockAuthentication(user, user.getAuthorities());
+		
+		OAuth2AccessToken result = enhancer.enhance(new DefaultOAuth2AccessToken("token"), authentication);
+		
+		assertAdditionalInformation(user, result.getAdditionalInformation());
+		verify(userService, never()).loadUserByUsername(any());
+	}
+	
+	@Test
+	public void enhanceShouldLoadUserFromUserServiceWhenPrincipalIsNotAnUser() {
+		User user = UserMocksFactory.mockUserEntity();
+		when(userService.loadUserByUsername(user.getEmail())).thenReturn(user);
+		OAuth2Authentication authentication = mockAuthentication(user.getEmail(), user.getAuthorities());
+		
+		OAuth2AccessToken result = enhancer.enhance(new DefaultOAuth2AccessToken("token"), authentication);
+		
+		assertAdditionalInformation(user, result.getAdditionalInformation());
+		verify(userService, times(1)).loadUserByUsername(user.getEmail());
+	}
+	
+	private OAuth2Authentication mockAuthentication(Object principal, Collection<? extends GrantedAuthority> authorities) {
+		OAuth2Request request = new OAuth2Request(null, "myclientid", null, true, null, null, null, null, null);
+		return new OAuth2Authentication(request, new UsernamePasswordAuthenticationToken(principal, null, authorities));
+	}
+	
+	private void assertAdditionalInformation(User user, Map<String, Object> additionalInformation) {
+		assertEquals(user.getId(), additionalInformation.get("userID"));
+		List<?> roles = (List<?>) additionalInformation.get("roles");
+		assertEquals(user.getRoles().size(), roles.size());
+		user.getRoles().forEach(role -> assertTrue(roles.contains(role.getAuthority())));
+	}
+}
@@ -0,0 +1,136 @@
+package com.fronchak.locadora.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
+import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
+import com.fronchak.locadora.entities.Movie;
+import com.fronchak.locadora.events.MovieChangedEvent;
+import com.fronchak.locadora.repositories.MovieRepository;
+
+@ExtendWith(SpringExtension.class)
+public class MovieSearchIndexTest {
+
+	@Mock
+	private MovieRepository repository;
+	
+	@InjectMocks
+	private MovieSearchIndex index;
+	
+	@BeforeEach
+	public void setUp() {
+		ReflectionTestUtils.setField(index, "maxPrefixTerms", 3);
+		index(makeMovie(1L, "Harry Potter and the Philosopher's Stone", "A boy learns he is a wizard destined to face the dark lord."));
+		index(makeMovie(2L, "The Lord of the Rings", "A hobbit carries a ring forged by Sauron, feared by every wizard."));
+		index(makeMovie(3L, "Amélie", "A shy waitress in Paris decides to change the lives of those around her."));
+	}
+	
+	private void index(Movie movie) {
+		index.onMovieChanged(MovieChangedEvent.saved(List.of(movie)));
+	}
+	
+	private Movie makeMovie(Long id, String title, String synopsis) {
+		Movie movie = new Movie();
+		movie.setId(id);
+		movie.setTitle(title);
+		movie.setSynopsis(synopsis);
+		movie.setNote(4.0);
+		return movie;
+	}
+	
+	private List<Long> searchIds(String query) {
+		return index.search(query, 10).stream().map(MovieOutputAllDTO::getId).collect(Collectors.toList());
+	}
+	
+	@Test
+	public void searchShouldRankTitleMatchesAboveSynopsisMatchesAndTieByLowerId() {
+		assertEquals(List.of(2L, 1L), searchIds("lord"));
+		assertEquals(List.of(1L, 2L), searchIds("wizard"));
+	}
+	
+	@Test
+	public void searchShouldMatchLastTermAsPrefix() {
+		assertEquals(List.of(1L), searchIds("harry pot"));
+		assertEquals(List.of(2L), searchIds("hobb"));
+		assertTrue(searchIds("harr potter").isEmpty());
+	}
+	
+	@Test
+	public void searchShouldRequireAllTermsAndIgnoreCaseAndAccents() {
+		assertEquals(List.of(3L), searchIds("AMELIE paris"));
+		assertTrue(searchIds("amelie hobbit").isEmpty());
+		assertTrue(searchIds("  ").isEmpty());
+	}
+	
+	@Test
+	public void searchShouldReturnSummaryAndRespectLimit() {
+		List<MovieOutputAllDTO> result = index.search("wizard", 1);
+		
+		assertEquals(1, result.size());
+		assertEquals(1L, result.get(0).getId());
+		assertEquals("Harry Potter and the Philosopher's Stone", result.get(0).getTitle());
+		assertEquals(4.0, result.get(0).getNote());
+	}
+	
+	@Test
+	public void onMovieChangedShouldReplacePreviousTermsOfMovie() {
+		index(makeMovie(1L, "Harry Potter and the Chamber of Secrets", "A house-elf warns Harry."));
+		
+		assertTrue(searchIds("philosopher").isEmpty());
+		assertEquals(List.of(1L), searchIds("chamber"));
+		assertEquals(List.of(2L), searchIds("wizard"));
+		assertEquals(3, index.size());
+	}
+	
+	@Test
+	public void onMovieChangedShouldReindexExistingMoviesAndRemoveDeletedOnes() {
+		Movie updated = makeMovie(2L, "The Two Towers", "Frodo and Sam continue to Mordor.");
+		
+		index.onMovieChanged(new MovieChangedEvent(List.of(2L, 3L), List.of(new MovieOutputDTO(updated))));
+		
+		assertEquals(List.of(2L), searchIds("towers"));
+		assertTrue(searchIds("ring").isEmpty());
+		assertTrue(searchIds("amelie").isEmpty());
+		assertEquals(2, index.size());
+		verify(repository, never()).findAllById(any());
+	}
+	
+	@Test
+	public void searchShouldExpandPrefixToAtMostMaxPrefixTermsInAlphabeticalOrder() {
+		for(long id = 10; id < 20; id++) {
+			index(makeMovie(id, "Zeta" + id, null));
+		}
+		
+		assertEquals(List.of(10L, 11L, 12L), searchIds("ze"));
+		assertEquals(List.of(15L), searchIds("zeta15"));
+	}
+	
+	@Test
+	public void rebuildShouldReplaceIndexWithRepositoryContent() {
+		when(repository.streamAllForExport()).thenReturn(Stream.of(
+				new MovieOutputDTO(5L, "Spirited Away", 4.8, "A girl wanders into a world ruled by gods.", 125)));
+		
+		index.rebuild();
+		
+		assertEquals(1, index.size());
+		assertEquals(List.of(5L), searchIds("spirit"));
+		assertTrue(searchIds("harry").isEmpty());
+	}
+}
@@ -0,0 +1,119 @@
+package com.fronchak.locadora.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
+import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
+import com.fronchak.locadora.entities.Movie;
+import com.fronchak.locadora.events.MovieChangedEvent;
+import com.fronchak.locadora.repositories.MovieRepository;
+
+@ExtendWith(SpringExtension.class)
+public class MovieTitleSuggesterTest {
+
+	@Mock
+	private MovieRepository repository;
+	
+	@InjectMocks
+	private MovieTitleSuggester suggester;
+	
+	@BeforeEach
+	public void setUp() {
+		when(repository.streamAllSummaries()).thenReturn(Stream.of(
+				new MovieOutputAllDTO(3L, "Harry Potter and the Prisoner of Azkaban", 4.5),
+				new MovieOutputAllDTO(1L, "Harry Potter and the Philosopher's Stone", 4.5),
+				new MovieOutputAllDTO(2L, "Harry Potter and the Chamber of Secrets", 4.4),
+				new MovieOutputAllDTO(4L, "Amélie", 4.1),
+				new MovieOutputAllDTO(5L, "Alien", 4.6),
+				new MovieOutputAllDTO(6L, "Alien", 3.9)));
+		suggester.rebuild();
+	}
+	
+	private List<Long> suggestIds(String prefix, int limit) {
+		return suggester.suggest(prefix, limit).stream().map(MovieOutputAllDTO::getId).collect(Collectors.toList());
+	}
+	
+	@Test
+	public void suggestShouldReturnTitlesStartingWithPrefixInAlphabeticalOrder() {
+		assertEquals(List.of(2L, 1L, 3L), suggestIds("harry potter and the", 10));
+		assertEquals(List.of(1L), suggestIds("Harry Potter and the Ph", 10));
+		assertTrue(suggestIds("potter", 10).isEmpty());
+	}
+	
+	@Test
+	public void suggestShouldIgnoreCaseAccentsAndPunctuation() {
+		assertEquals(List.of(4L), suggestIds("AME", 10));
+		assertEquals(List.of(1L), suggestIds("harry   potter and the philosopher s", 10));
+	}
+	
+	@Test
+	public void suggestShouldReturnEveryDuplicatedTitleAndRespectLimit() {
+		assertEquals(List.of(5L, 6L, 4L), suggestIds("a", 10));
+		assertEquals(List.of(5L, 6L), suggestIds("alien", 10));
+		assertEquals(List.of(5L), suggestIds("al", 1));
+		assertTrue(suggestIds(" ", 10).isEmpty());
+	}
+	
+	@Test
+	public void onMovieChangedShouldSwapSnapshotWithChangedAndWithoutDeletedMovies() {
+		Movie updated = new Movie();
+		updated.setId(2L);
+		updated.setTitle("Aliens");
+		updated.setNote(4.4);
+		
+		suggester.onMovieChanged(new MovieChangedEvent(List.of(2L, 5L), List.of(new MovieOutputDTO(updated))));
+		
+		assertEquals(List.of(6L, 2L), suggestIds("alien", 10));
+		assertEquals(List.of(1L, 3L), suggestIds("harry", 10));
+		assertEquals(5, suggester.size());
+		verify(repository, never()).findAllById(any());
+	}
+	
+	@Test
+	public void replaceShouldKeepTitlesSortedWhenMoviesMoveInsertAndRemove() {
+		suggester.replace(List.of(1L, 4L, 3L), List.of(
+				new MovieOutputAllDTO(4L, "Zorro", 3.5),
+				new MovieOutputAllDTO(1L, "Alien", 4.5),
+				new MovieOutputAllDTO(7L, "Harry Potter and the Goblet of Fire", 4.3)));
+		
+		assertEquals(List.of(1L, 5L, 6L), suggestIds("a", 10));
+		assertEquals(List.of(2L, 7L), suggestIds("harry", 10));
+		assertEquals(List.of(4L), suggestIds("z", 10));
+		assertEquals(6, suggester.size());
+	}
+	
+	@Test
+	public void rebuildShouldReplayChangesThatArriveWhileStreaming() {
+		AtomicBoolean changed = new AtomicBoolean();
+		when(repository.streamAllSummaries()).thenReturn(Stream.of(
+				new MovieOutputAllDTO(5L, "Alien", 4.6),
+				new MovieOutputAllDTO(6L, "Alien", 3.9))
+				.peek(movie -> {
+					if(changed.compareAndSet(false, true)) {
+						suggester.replace(List.of(5L), List.of(new MovieOutputAllDTO(7L, "Alien 3", 3.2)));
+					}
+				}));
+		
+		suggester.rebuild();
+		
+		assertEquals(List.of(6L, 7L), suggestIds("alien", 10));
+		assertEquals(2, suggester.size());
+	}
+}
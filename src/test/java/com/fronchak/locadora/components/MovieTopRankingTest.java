@@ -0,0 +1,103 @@
+package com.fronchak.locadora.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
+import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
+import com.fronchak.locadora.entities.Movie;
+import com.fronchak.locadora.events.MovieChangedEvent;
+import com.fronchak.locadora.repositories.MovieRepository;
+
+@ExtendWith(SpringExtension.class)
+public class MovieTopRankingTest {
+
+	@Mock
+	private MovieRepository repository;
+	
+	@InjectMocks
+	private MovieTopRanking ranking;
+	
+	@BeforeEach
+	public void setUp() {
+		ReflectionTestUtils.setField(ranking, "capacity", 3);
+		when(repository.findTopByNote(PageRequest.of(0, 3))).thenReturn(List.of(
+				new MovieOutputAllDTO(1L, "First", 4.9),
+				new MovieOutputAllDTO(2L, "Second", 4.5),
+				new MovieOutputAllDTO(3L, "Third", 4.0)));
+		ranking.rebuild();
+	}
+	
+	private List<Long> topIds(int n) {
+		return ranking.findTop(n).stream().map(MovieOutputAllDTO::getId).collect(Collectors.toList());
+	}
+	
+	@Test
+	public void findTopShouldReturnAtMostNMoviesOrderedByNote() {
+		assertEquals(List.of(1L, 2L), topIds(2));
+		assertEquals(List.of(1L, 2L, 3L), topIds(10));
+	}
+	
+	@Test
+	public void replaceShouldInsertBetterMovieAndDropWorstWithoutQueryingRepository() {
+		ranking.replace(List.of(4L), List.of(new MovieOutputAllDTO(4L, "Fourth", 4.7)));
+		
+		assertEquals(List.of(1L, 4L, 2L), topIds(3));
+		verify(repository, times(1)).findTopByNote(any(Pageable.class));
+	}
+	
+	@Test
+	public void replaceShouldIgnoreMovieBelowFullRanking() {
+		ranking.replace(List.of(4L), List.of(new MovieOutputAllDTO(4L, "Fourth", 3.0)));
+		
+		assertEquals(List.of(1L, 2L, 3L), topIds(3));
+		verify(repository, times(1)).findTopByNote(any(Pageable.class));
+	}
+	
+	@Test
+	public void replaceShouldRebuildFromRepositoryWhenRankedMovieChangesInFullRanking() {
+		when(repository.findTopByNote(PageRequest.of(0, 3))).thenReturn(List.of(
+				new MovieOutputAllDTO(2L, "Second", 4.5),
+				new MovieOutputAllDTO(3L, "Third", 4.0),
+				new MovieOutputAllDTO(5L, "Fifth", 3.9)));
+		
+		ranking.replace(List.of(1L), List.of());
+		
+		assertEquals(List.of(2L, 3L, 5L), topIds(3));
+		verify(repository, times(2)).findTopByNote(any(Pageable.class));
+	}
+	
+	@Test
+	public void onMovieChangedShouldUpdateRankingWhenRankingIsNotFull() {
+		when(repository.findTopByNote(PageRequest.of(0, 3))).thenReturn(List.of(new MovieOutputAllDTO(1L, "First", 4.9)));
+		ranking.rebuild();
+		Movie movie = new Movie();
+		movie.setId(1L);
+		movie.setTitle("First");
+		movie.setNote(2.0);
+		
+		ranking.onMovieChanged(new MovieChangedEvent(List.of(1L, 6L), List.of(new MovieOutputDTO(movie))));
+		
+		assertEquals(List.of(1L), topIds(3));
+		assertEquals(2.0, ranking.findTop(1).get(0).getNote());
+		verify(repository, times(2)).findTopByNote(any(Pageable.class));
+		verify(repository, never()).findAllById(any());
+	}
+}
@@ -0,0 +1,79 @@
+package com.fronchak.locadora.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fronchak.locadora.events.MovieChangedEvent;
+import com.fronchak.locadora.exceptions.PreconditionFailedException;
+
+public class MovieVersionRegistryTest {
+
+	private MovieVersionRegistry registry = new MovieVersionRegistry(100);
+	
+	@Test
+	public void registerMovieVersionShouldRememberETagUntilMovieChanges() {
+		assertNull(registry.findMovieETag(1L));
+		
+		String eTag = registry.registerMovieVersion(1L, registry.getMovieChanges(1L), 4);
+		registry.registerMovieVersion(2L, registry.getMovieChanges(2L), 0);
+		
+		assertEquals("\"movie-1-4\"", eTag);
+		assertEquals(eTag, registry.findMovieETag(1L));
+		
+		registry.onMovieChanged(MovieChangedEvent.deleted(1L));
+		
+		assertNull(registry.findMovieETag(1L));
+		assertEquals("\"movie-2-0\"", registry.findMovieETag(2L));
+	}
+	
+	@Test
+	public void registerMovieVersionShouldNotRememberETagReadBeforeAChange() {
+		long changes = registry.getMovieChanges(1L);
+		registry.onMovieChanged(MovieChangedEvent.deleted(1L));
+		
+		String eTag = registry.registerMovieVersion(1L, changes, 4);
+		
+		assertEquals("\"movie-1-4\"", eTag);
+		assertNull(registry.findMovieETag(1L));
+	}
+	
+	@Test
+	public void getMovieChangesShouldCountPerStripeAndSurviveDeletes() {
+		long changes = registry.getMovieChanges(5L);
+		registry.onMovieChanged(MovieChangedEvent.deleted(5L));
+		registry.onMovieChanged(MovieChangedEvent.deleted(5L + 1024));
+		
+		assertEquals(changes + 2, registry.getMovieChanges(5L));
+		assertNull(registry.findMovieETag(5L));
+	}
+	
+	@Test
+	public void onMovieChangedShouldChangeCatalogETag() {
+		String catalog = registry.getCatalogETag();
+		assertEquals(catalog, registry.getCatalogETag());
+		
+		registry.onMovieChanged(new MovieChangedEvent(List.of(1L, 3L), List.of()));
+		
+		assertNotEquals(catalog, registry.getCatalogETag());
+	}
+	
+	@Test
+	public void parseMovieVersionShouldReturnVersionWhenETagBelongsToMovie() {
+		assertEquals(7, registry.parseMovieVersion(1L, "\"movie-1-7\""));
+		assertNull(registry.parseMovieVersion(1L, "*"));
+		assertNull(registry.parseMovieVersion(1L, null));
+	}
+	
+	@Test
+	public void parseMovieVersionShouldThrowPreconditionFailedExceptionWhenETagDoesNotBelongToMovie() {
+		assertThrows(PreconditionFailedException.class, () -> registry.parseMovieVersion(1L, "\"movie-2-7\""));
+		assertThrows(PreconditionFailedException.class, () -> registry.parseMovieVersion(1L, "W/\"movie-1-7\""));
+		assertThrows(PreconditionFailedException.class, () -> registry.parseMovieVersion(1L, "\"catalog-1\""));
+	}
+}
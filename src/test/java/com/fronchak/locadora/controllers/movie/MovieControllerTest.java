@@ -4,18 +4,44 @@ import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertForbid
 import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertNotFound;
 import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertUnauthorized;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import com.fronchak.locadora.dtos.movie.MovieLookupOutputDTO;
+import com.fronchak.locadora.dtos.movie.MovieExportFormat;
 import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
 import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
+import com.fronchak.locadora.dtos.pagination.KeysetPageDTO;
+import com.fronchak.locadora.dtos.pagination.SliceDTO;
+import com.fronchak.locadora.exceptions.BadRequestException;
 import com.fronchak.locadora.exceptions.ResourceNotFoundException;
 import com.fronchak.locadora.mocks.MovieMocksFactory;
 import com.fronchak.locadora.util.CustomizeControllerAsserts;
@@ -55,6 +81,204 @@ public class MovieControllerTest extends AbstractMovieControllerTest {
 		assertNotFound(result);
 	}
 
+	@Test
+	public void findByIdShouldReturnNotModifiedWithoutCallingServiceWhenETagMatches() throws Exception {
+		when(service.findById(VALID_ID)).thenReturn(MovieMocksFactory.mockMovieOutputDTO());
+		getClientToken();
+		
+		String eTag = mockMvc.perform(get("/movies/{id}", VALID_ID)
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		ResultActions result = mockMvc.perform(get("/movies/{id}", VALID_ID)
+				.header("Authorization", "Bearer " + accessToken)
+				.header(HttpHeaders.IF_NONE_MATCH, eTag)
+				.accept(MEDIA_TYPE));
+		
+		result.andExpect(status().isNotModified());
+		result.andExpect(header().string(HttpHeaders.ETAG, eTag));
+		result.andExpect(content().string(""));
+		verify(service, times(1)).findById(VALID_ID);
+	}
+	
+	@Test
+	public void findByIdShouldReturnSuccessWhenETagIsStale() throws Exception {
+		when(service.findById(VALID_ID)).thenReturn(MovieMocksFactory.mockMovieOutputDTO());
+		getClientToken();
+		
+		ResultActions result = mockMvc.perform(get("/movies/{id}", VALID_ID)
+				.header("Authorization", "Bearer " + accessToken)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"movie-stale\"")
+				.accept(MEDIA_TYPE));
+		
+		assertSuccessAndMovieOutputDTO(result);
+	}
+	
+	@Test
+	public void findAllPagedShouldReturnNotModifiedWithoutCallingServiceWhenETagMatches() throws Exception {
+		when(service.findAllPaged(any(Pageable.class))).thenReturn(MovieMocksFactory.mockMovieOutputAllDTOPage());
+		getClientToken();
+		
+		String eTag = mockMvc.perform(get("/movies?page=0&size=10")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		ResultActions result = mockMvc.perform(get("/movies?page=0&size=10")
+				.header("Authorization", "Bearer " + accessToken)
+				.header(HttpHeaders.IF_NONE_MATCH, eTag)
+				.accept(MEDIA_TYPE));
+		
+		result.andExpect(status().isNotModified());
+		verify(service, times(1)).findAllPaged(any(Pageable.class));
+	}
+	
+	@Test
+	public void findFieldsByIdShouldReturnOnlyRequestedFieldsWhenClientIsLogged() throws Exception {
+		Map<String, Object> dto = new LinkedHashMap<>();
+		dto.put("id", VALID_ID);
+		dto.put("title", "Mock movie title 0");
+		when(service.findFieldsById(VALID_ID, "title")).thenReturn(dto);
+		getClientToken();
+		
+		ResultActions result = mockMvc.perform(get("/movies/{id}?fields=title", VALID_ID)
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.id").value(VALID_ID));
+		result.andExpect(jsonPath("$.title").value("Mock movie title 0"));
+		result.andExpect(jsonPath("$.synopsis").doesNotExist());
+		verify(service, never()).findById(VALID_ID);
+	}
+	
+	@Test
+	public void findFieldsByIdShouldReturnNotModifiedWithoutCallingServiceWhenETagMatches() throws Exception {
+		when(service.findById(VALID_ID)).thenReturn(MovieMocksFactory.mockMovieOutputDTO());
+		when(service.findFieldsById(VALID_ID, "title")).thenReturn(Map.of("id", VALID_ID, "title", "Mock movie title 0"));
+		getClientToken();
+		
+		String eTag = mockMvc.perform(get("/movies/{id}", VALID_ID)
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/movies/{id}?fields=title", VALID_ID)
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag));
+		ResultActions result = mockMvc.perform(get("/movies/{id}?fields=title", VALID_ID)
+				.header("Authorization", "Bearer " + accessToken)
+				.header(HttpHeaders.IF_NONE_MATCH, eTag)
+				.accept(MEDIA_TYPE));
+		
+		result.andExpect(status().isNotModified());
+		result.andExpect(content().string(""));
+		verify(service, times(1)).findFieldsById(VALID_ID, "title");
+	}
+	
+	@Test
+	public void findFieldsPagedShouldReturnOnlyRequestedFieldsWhenClientIsLogged() throws Exception {
+		Page<Map<String, Object>> page = new PageImpl<>(List.of(Map.of("id", 10L, "note", 4.5)));
+		when(service.findFieldsPaged(eq("note"), any(Pageable.class))).thenReturn(page);
+		getClientToken();
+		
+		ResultActions result = mockMvc.perform(get("/movies?fields=note&page=0&size=10")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.content[0].id").value(10L));
+		result.andExpect(jsonPath("$.content[0].note").value(4.5));
+		result.andExpect(jsonPath("$.content[0].title").doesNotExist());
+		verify(service, never()).findAllPaged(any(Pageable.class));
+	}
+	
+	@Test
+	public void findAllByIdsShouldReturnMoviesAndMissingIdsWhenClientIsLogged() throws Exception {
+		MovieLookupOutputDTO lookup = new MovieLookupOutputDTO(List.of(MovieMocksFactory.mockMovieOutputDTO()), List.of(INVALID_ID));
+		when(service.findAllByIds(List.of(10L, INVALID_ID))).thenReturn(lookup);
+		getClientToken();
+		
+		ResultActions result = mockMvc.perform(get("/movies?ids=10," + INVALID_ID)
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.content[0].id").value(10L));
+		result.andExpect(jsonPath("$.content[0].title").value("Mock movie title 0"));
+		result.andExpect(jsonPath("$.missingIds[0]").value(INVALID_ID));
+		verify(service, never()).findAllPaged(any(Pageable.class));
+	}
+	
+	@Test
+	public void findAllSlicedShouldReturnHasNextWithoutTotalWhenClientIsLogged() throws Exception {
+		SliceDTO<MovieOutputAllDTO> slice = new SliceDTO<>(MovieMocksFactory.mockMovieOutputAllDTOList(), 0, 10, true);
+		when(service.findAllSliced(any(Pageable.class))).thenReturn(slice);
+		getClientToken();
+		
+		ResultActions result = mockMvc.perform(get("/movies?mode=slice&page=0&size=10")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.content[0].id").value(10L));
+		result.andExpect(jsonPath("$.hasNext").value(true));
+		result.andExpect(jsonPath("$.totalElements").doesNotExist());
+		verify(service, never()).findAllPaged(any(Pageable.class));
+	}
+	
+	@Test
+	public void findTopShouldReturnSuccessWhenClientIsLogged() throws Exception {
+		when(service.findTop(20)).thenReturn(MovieMocksFactory.mockMovieOutputAllDTOList());
+		getClientToken();
+		
+		ResultActions result = mockMvc.perform(get("/movies/top?n=20")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$[0].id").value(10L));
+		verify(repository, never()).findTopByNote(any(Pageable.class));
+	}
+	
+	@Test
+	public void searchShouldReturnSuccessWhenClientIsLogged() throws Exception {
+		when(service.search("harry pot", 20)).thenReturn(MovieMocksFactory.mockMovieOutputAllDTOList());
+		getClientToken();
+		
+		ResultActions result = mockMvc.perform(get("/movies/search?q=harry pot")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$[0].id").value(10L));
+		result.andExpect(jsonPath("$[0].title").value("Mock movie title 0"));
+	}
+	
+	@Test
+	public void suggestShouldReturnSuccessWhenClientIsLogged() throws Exception {
+		when(service.suggest("mock", 10)).thenReturn(MovieMocksFactory.mockMovieOutputAllDTOList());
+		getClientToken();
+		
+		ResultActions result = mockMvc.perform(get("/movies/suggest?prefix=mock")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$[0].id").value(10L));
+		result.andExpect(jsonPath("$[0].title").value("Mock movie title 0"));
+	}
+	
+	@Test
+	public void searchShouldReturnUnauthorizedWhenClientIsNotLogged() throws Exception {
+		ResultActions result = mockMvc.perform(get("/movies/search?q=harry")
+				.accept(MEDIA_TYPE));
+		
+		assertUnauthorized(result);
+	}
+	
 	@Test
 	public void findAllPagedShouldReturnUnauthorizedWhenClientIsNotLogged() throws Exception {
 		ResultActions result = mockMvc.perform(get("/movies?page=0&size=10")
@@ -75,6 +299,113 @@ public class MovieControllerTest extends AbstractMovieControllerTest {
 		assertSuccessAndMovieOutputDTOPage(result);
 	}
 	
+	@Test
+	public void findAllByKeysetShouldReturnKeysetPageWhenClientIsLogged() throws Exception {
+		KeysetPageDTO<MovieOutputAllDTO> page = new KeysetPageDTO<>(MovieMocksFactory.mockMovieOutputAllDTOList(), 2, true, "next-cursor");
+		when(service.findAllByKeyset(eq(""), any(Pageable.class))).thenReturn(page);
+		getClientToken();
+		
+		ResultActions result = mockMvc.perform(get("/movies?after=&size=2")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		assertSuccessAndMovieOutputDTOPage(result);
+		result.andExpect(jsonPath("$.hasNext").value(true));
+		result.andExpect(jsonPath("$.next").value("next-cursor"));
+		result.andExpect(jsonPath("$.totalElements").doesNotExist());
+	}
+	
+	@Test
+	public void exportShouldStreamServiceOutputWhenClientIsLogged() throws Exception {
+		doAnswer(invocation -> {
+			OutputStream outputStream = invocation.getArgument(1);
+			outputStream.write("id,title,synopsis,durationInMinutes,note\n".getBytes(StandardCharsets.UTF_8));
+			return null;
+		}).when(service).export(eq(MovieExportFormat.CSV), any(OutputStream.class));
+		getClientToken();
+		
+		MvcResult mvcResult = mockMvc.perform(get("/movies/export?format=csv")
+				.header("Authorization", "Bearer " + accessToken))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		ResultActions result = mockMvc.perform(asyncDispatch(mvcResult));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(content().contentTypeCompatibleWith("text/csv"));
+		result.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"movies.csv\""));
+		result.andExpect(content().string("id,title,synopsis,durationInMinutes,note\n"));
+	}
+	
+	@Test
+	public void exportShouldReturnBadRequestWhenFormatIsInvalid() throws Exception {
+		getClientToken();
+		
+		ResultActions result = mockMvc.perform(get("/movies/export?format=xml")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		CustomizeControllerAsserts.assertBadRequest(result);
+	}
+	
+	@Test
+	public void findAllByKeysetShouldReturnBadRequestWhenCursorIsInvalid() throws Exception {
+		when(service.findAllByKeyset(anyString(), any(Pageable.class))).thenThrow(new BadRequestException("Invalid cursor"));
+		getClientToken();
+		
+		ResultActions result = mockMvc.perform(get("/movies?after=invalid")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		CustomizeControllerAsserts.assertBadRequest(result);
+		result.andExpect(jsonPath("$.error").value("Bad request"));
+	}
+	
+	@Test
+	public void findAllShouldReturnBadRequestWhenFieldsAndIdsAreCombined() throws Exception {
+		assertBadRequestWithoutCallingService("/movies?fields=title&ids=10");
+	}
+	
+	@Test
+	public void findAllShouldReturnBadRequestWhenFieldsAndAfterAreCombined() throws Exception {
+		assertBadRequestWithoutCallingService("/movies?fields=title&after=");
+	}
+	
+	@Test
+	public void findAllShouldReturnBadRequestWhenFieldsAndSliceModeAreCombined() throws Exception {
+		assertBadRequestWithoutCallingService("/movies?fields=title&mode=slice");
+	}
+	
+	@Test
+	public void findAllShouldReturnBadRequestWhenIdsAndAfterAreCombined() throws Exception {
+		assertBadRequestWithoutCallingService("/movies?ids=10&after=");
+	}
+	
+	@Test
+	public void findAllShouldReturnBadRequestWhenIdsAndSliceModeAreCombined() throws Exception {
+		assertBadRequestWithoutCallingService("/movies?ids=10&mode=slice");
+	}
+	
+	@Test
+	public void findAllShouldReturnBadRequestWhenAfterAndSliceModeAreCombined() throws Exception {
+		assertBadRequestWithoutCallingService("/movies?after=&mode=slice");
+	}
+	
+	private void assertBadRequestWithoutCallingService(String uri) throws Exception {
+		getClientToken();
+		
+		ResultActions result = mockMvc.perform(get(uri)
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		CustomizeControllerAsserts.assertBadRequest(result);
+		result.andExpect(jsonPath("$.error").value("Bad request"));
+		verify(service, never()).findFieldsPaged(anyString(), any(Pageable.class));
+		verify(service, never()).findAllPaged(any(Pageable.class));
+		verify(service, never()).findAllByIds(any());
+		verify(service, never()).findAllSliced(any(Pageable.class));
+		verify(service, never()).findAllByKeyset(anyString(), any(Pageable.class));
+	}
+	
 	@Test
 	public void deleteUnauthorizedWhenUserIsNotLogged() throws Exception {
 		ResultActions result = mockMvc.perform(delete("/movies/{id}", VALID_ID)
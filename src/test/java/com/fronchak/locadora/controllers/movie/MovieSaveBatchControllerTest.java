@@ -0,0 +1,139 @@
+package com.fronchak.locadora.controllers.movie;
+
+import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertCreated;
+import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertForbidden;
+import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertUnauthorized;
+import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertUnprocessableEntity;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fronchak.locadora.dtos.movie.MovieBatchInsertDTO;
+import com.fronchak.locadora.mocks.MovieMocksFactory;
+
+public class MovieSaveBatchControllerTest extends AbstractMovieControllerTest {
+
+	private MovieBatchInsertDTO batchInsertDTO;
+	private String body;
+
+	private ResultActions result;
+	
+	@BeforeEach
+	public void setUp() {
+		batchInsertDTO = MovieMocksFactory.mockMovieBatchInsertDTO();
+		when(service.saveAll(any(MovieBatchInsertDTO.class))).thenReturn(MovieMocksFactory.mockMovieOutputAllDTOList());
+	}
+	
+	private void convertBatchInsertDTOToJson() throws Exception {
+		body = mapper.writeValueAsString(batchInsertDTO);
+	}
+	
+	private void performPostWithoutToken() throws Exception {
+		result = mockMvc.perform(post("/movies/batch")
+				.accept(MEDIA_TYPE)
+				.content(body)
+				.contentType(MEDIA_TYPE));
+	}
+	
+	private void performPostWithToken() throws Exception {
+		result = mockMvc.perform(post("/movies/batch")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE)
+				.content(body)
+				.contentType(MEDIA_TYPE));
+	}
+	
+	@Test
+	public void saveAllShouldReturnUnauthorizedWhenUserIsNotLogged() throws Exception {
+		convertBatchInsertDTOToJson();
+		
+		performPostWithoutToken();
+		
+		assertUnauthorized(result);
+	}
+	
+	@Test
+	public void saveAllShouldReturnForbiddenWhenClientIsLogged() throws Exception {
+		convertBatchInsertDTOToJson();
+		getClientToken();
+		
+		performPostWithToken();
+		
+		assertForbidden(result);
+	}
+	
+	@Test
+	public void saveAllShouldReturnCreatedWhenOperatorIsLoggedAndNoValidationsAreBroken() throws Exception {
+		convertBatchInsertDTOToJson();
+		getOperatorToken();
+		
+		performPostWithToken();
+		
+		assertCreated(result);
+		result.andExpect(jsonPath("$[0].id").value(10L));
+		result.andExpect(jsonPath("$[1].id").value(11L));
+	}
+	
+	@Test
+	public void saveAllShouldReturnUnprocessableEntityWhenMoviesAreEmpty() throws Exception {
+		batchInsertDTO.getMovies().clear();
+		convertBatchInsertDTOToJson();
+		getOperatorToken();
+		
+		performPostWithToken();
+		
+		assertUnprocessableEntity(result);
+		result.andExpect(jsonPath("$.errors[0].fieldName").value("movies"));
+		verify(service, never()).saveAll(any(MovieBatchInsertDTO.class));
+	}
+	
+	@Test
+	public void saveAllShouldReturnUnprocessableEntityWhenAMovieIsInvalid() throws Exception {
+		batchInsertDTO.getMovies().get(1).setSynopsis("  ");
+		convertBatchInsertDTOToJson();
+		getOperatorToken();
+		
+		performPostWithToken();
+		
+		assertUnprocessableEntity(result);
+		result.andExpect(jsonPath("$.errors[0].fieldName").value("movies[1].synopsis"));
+		result.andExpect(jsonPath("$.errors[0].message").value("Movie's synopsis cannot be empty"));
+	}
+	
+	@Test
+	public void saveAllShouldReturnUnprocessableEntityWhenTitleIsRepeatedInBatch() throws Exception {
+		batchInsertDTO.getMovies().get(1).setTitle(batchInsertDTO.getMovies().get(0).getTitle());
+		convertBatchInsertDTOToJson();
+		getOperatorToken();
+		
+		performPostWithToken();
+		
+		assertUnprocessableEntity(result);
+		result.andExpect(jsonPath("$.errors[0].fieldName").value("movies[1].title"));
+		result.andExpect(jsonPath("$.errors[0].message").value("There is another movie with the same title in this batch"));
+	}
+	
+	@Test
+	public void saveAllShouldReturnUnprocessableEntityWhenTitleIsAlreadySaved() throws Exception {
+		batchInsertDTO.getMovies().get(1).setTitle(EXIST_TITLE);
+		when(repository.findExistingTitles(anyCollection())).thenReturn(List.of(EXIST_TITLE));
+		convertBatchInsertDTOToJson();
+		getOperatorToken();
+		
+		performPostWithToken();
+		
+		assertUnprocessableEntity(result);
+		result.andExpect(jsonPath("$.errors[0].fieldName").value("movies[1].title"));
+		result.andExpect(jsonPath("$.errors[0].message").value("There is another movie with the same title already saved"));
+	}
+}
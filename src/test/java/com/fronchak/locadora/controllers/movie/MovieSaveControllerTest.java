@@ -12,7 +12,7 @@ import org.springframework.test.web.servlet.ResultActions;
 
 import com.fronchak.locadora.dtos.movie.MovieInsertDTO;
 import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
-import com.fronchak.locadora.entities.Movie;
+import com.fronchak.locadora.exceptions.DuplicateFieldException;
 import com.fronchak.locadora.mocks.MovieMocksFactory;
 
 public class MovieSaveControllerTest extends AbstractMovieControllerTest {
@@ -180,8 +180,19 @@ public class MovieSaveControllerTest extends AbstractMovieControllerTest {
 	public void saveShouldReturnUnprocessableEntityWhenOperatorIsLoggedAndThereIsAnotherMovieWithThaSameTitleAlreadySaved() throws Exception {
 		insertDTO.setTitle(EXIST_TITLE);
 		convertInsertDTOToJson();
-		Movie entity = MovieMocksFactory.mockMovieEntity();		
-		when(repository.findByTitle(EXIST_TITLE)).thenReturn(entity);
+		when(repository.existsByTitle(EXIST_TITLE)).thenReturn(true);
+		getOperatorToken();
+
+		performPostWithToken();
+		
+		assertInvalidDuplicateTitle(result);
+	}
+	
+	@Test
+	public void saveShouldReturnUnprocessableEntityWhenTitleConstraintIsViolatedByConcurrentInsert() throws Exception {
+		convertInsertDTOToJson();
+		when(service.save(any(MovieInsertDTO.class))).thenThrow(
+				new DuplicateFieldException("title", "There is another movie with the same title already saved"));
 		getOperatorToken();
 
 		performPostWithToken();
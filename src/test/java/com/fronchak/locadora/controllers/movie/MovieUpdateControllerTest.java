@@ -5,16 +5,24 @@ import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertNotFou
 import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertUnauthorized;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.ResultActions;
 
 import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
 import com.fronchak.locadora.dtos.movie.MovieUpdateDTO;
-import com.fronchak.locadora.entities.Movie;
+import com.fronchak.locadora.exceptions.PreconditionFailedException;
 import com.fronchak.locadora.exceptions.ResourceNotFoundException;
 import com.fronchak.locadora.mocks.MovieMocksFactory;
 
@@ -29,8 +37,8 @@ public class MovieUpdateControllerTest extends AbstractMovieControllerTest {
 	public void setUp() {
 		updateDTO = MovieMocksFactory.mockMovieUpdateDTO();	
 		outputDTO = MovieMocksFactory.mockMovieOutputDTO();
-		when(service.update(any(MovieUpdateDTO.class), eq(VALID_ID))).thenReturn(outputDTO);
-		when(service.update(any(MovieUpdateDTO.class), eq(INVALID_ID))).thenThrow(ResourceNotFoundException.class);
+		when(service.update(any(MovieUpdateDTO.class), eq(VALID_ID), any())).thenReturn(outputDTO);
+		when(service.update(any(MovieUpdateDTO.class), eq(INVALID_ID), any())).thenThrow(ResourceNotFoundException.class);
 	}
 	
 	private void convertUpdateDTOToJson() throws Exception {
@@ -44,6 +52,15 @@ public class MovieUpdateControllerTest extends AbstractMovieControllerTest {
 				.contentType(MEDIA_TYPE));
 	}
 	
+	private void performPutWithTokenAndIfMatch(Long id, String ifMatch) throws Exception {
+		result = mockMvc.perform(put("/movies/{id}", id)
+				.header("Authorization", "Bearer " + accessToken)
+				.header(HttpHeaders.IF_MATCH, ifMatch)
+				.accept(MEDIA_TYPE)
+				.content(body)
+				.contentType(MEDIA_TYPE));
+	}
+	
 	private void performPutWithToken(Long id) throws Exception {
 		result = mockMvc.perform(put("/movies/{id}", id)
 				.header("Authorization", "Bearer " + accessToken)
@@ -194,8 +211,7 @@ public class MovieUpdateControllerTest extends AbstractMovieControllerTest {
 	public void updateShouldReturnUnprocessableEntityWhenOperatorIsLoggedAndThereIsAnotherMovieWithTheSameNameAlreadySaved() throws Exception {
 		updateDTO.setTitle(EXIST_TITLE);
 		convertUpdateDTOToJson();
-		Movie entity = MovieMocksFactory.mockMovieEntity();
-		when(repository.findByTitle(EXIST_TITLE)).thenReturn(entity);
+		when(repository.findIdByTitle(EXIST_TITLE)).thenReturn(Optional.of(MovieMocksFactory.mockMovieEntity().getId()));
 		getOperatorToken();
 		
 		performPutWithToken(VALID_ID);
@@ -207,9 +223,7 @@ public class MovieUpdateControllerTest extends AbstractMovieControllerTest {
 	public void updateShouldReturnSuccessWhenOperatorIsLoggedAndExistAnotherMovieWithTheSameTitleButIsTheEntityBeenUpdated() throws Exception {
 		updateDTO.setTitle(EXIST_TITLE);
 		convertUpdateDTOToJson();
-		Movie entity = MovieMocksFactory.mockMovieEntity();
-		entity.setId(VALID_ID);
-		when(repository.findByTitle(EXIST_TITLE)).thenReturn(entity);
+		when(repository.findIdByTitle(EXIST_TITLE)).thenReturn(Optional.of(VALID_ID));
 		getOperatorToken();
 
 		performPutWithToken(VALID_ID);
@@ -221,13 +235,49 @@ public class MovieUpdateControllerTest extends AbstractMovieControllerTest {
 	public void updateShouldReturnSuccessWhenAdminIsLoggedAndExistAnotherMovieWithTheSameTitleButIsTheEntityBeenUpdated() throws Exception {
 		updateDTO.setTitle(EXIST_TITLE);
 		convertUpdateDTOToJson();
-		Movie entity = MovieMocksFactory.mockMovieEntity();
-		entity.setId(VALID_ID);
-		when(repository.findByTitle(EXIST_TITLE)).thenReturn(entity);
+		when(repository.findIdByTitle(EXIST_TITLE)).thenReturn(Optional.of(VALID_ID));
 		getAdminToken();
 
 		performPutWithToken(VALID_ID);
 		
 		assertSuccessAndMovieOutputDTO(result);
 	}
+	
+	@Test
+	public void updateShouldReturnETagOfNewVersionWhenIfMatchIsCurrentVersion() throws Exception {
+		outputDTO.setVersion(3);
+		convertUpdateDTOToJson();
+		getOperatorToken();
+		
+		performPutWithTokenAndIfMatch(VALID_ID, "\"movie-" + VALID_ID + "-2\"");
+		
+		assertSuccessAndMovieOutputDTO(result);
+		result.andExpect(header().string(HttpHeaders.ETAG, "\"movie-" + VALID_ID + "-3\""));
+		verify(service).update(any(MovieUpdateDTO.class), eq(VALID_ID), eq(2));
+	}
+	
+	@Test
+	public void updateShouldReturnPreconditionFailedWhenServiceDetectsAnotherVersion() throws Exception {
+		when(service.update(any(MovieUpdateDTO.class), eq(VALID_ID), eq(1))).thenThrow(new PreconditionFailedException("Movie was modified"));
+		convertUpdateDTOToJson();
+		getOperatorToken();
+		
+		performPutWithTokenAndIfMatch(VALID_ID, "\"movie-" + VALID_ID + "-1\"");
+		
+		result.andExpect(status().isPreconditionFailed());
+		result.andExpect(jsonPath("$.error").value("Precondition failed"));
+	}
+	
+	@Test
+	public void updateShouldReturnPreconditionFailedWithoutCallingServiceWhenIfMatchBelongsToAnotherMovieOrIsWeak() throws Exception {
+		convertUpdateDTOToJson();
+		getOperatorToken();
+		
+		performPutWithTokenAndIfMatch(VALID_ID, "\"movie-" + (VALID_ID + 1) + "-0\"");
+		result.andExpect(status().isPreconditionFailed());
+		performPutWithTokenAndIfMatch(VALID_ID, "W/\"movie-" + VALID_ID + "-0\"");
+		result.andExpect(status().isPreconditionFailed());
+		
+		verify(service, never()).update(any(MovieUpdateDTO.class), eq(VALID_ID), any());
+	}
 }
@@ -2,6 +2,9 @@ package com.fronchak.locadora.controllers.user;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,6 +14,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fronchak.locadora.dtos.role.RoleInputDTO;
+import com.fronchak.locadora.dtos.user.UserInputDTO;
 import com.fronchak.locadora.services.UserService;
 import com.fronchak.locadora.util.CustomizeControllerAsserts;
 import com.fronchak.locadora.util.TokenUtil;
@@ -33,6 +38,8 @@ public abstract class AbstractUserControllerTest {
 	protected static final String USED_EMAIL = "fronchak@gmail.com";
 	protected static final String NOT_USED_EMAIL = "gmack123@gmail.com";
 	
+	protected static final Long NON_EXISTING_ROLE_ID = 1000L;
+	
 	protected String accessToken;
 	
 	protected static MediaType MEDIA_TYPE = MediaType.APPLICATION_JSON;
@@ -50,6 +57,10 @@ public abstract class AbstractUserControllerTest {
 	@SpyBean
 	protected UserService service;
 	
+	protected void useExistingRoles(UserInputDTO dto) {
+		dto.setRoles(new HashSet<>(Set.of(new RoleInputDTO(1L), new RoleInputDTO(2L))));
+	}
+	
 	protected void getClientToken() throws Exception {
 		accessToken = tokenUtil.obtainAccessToken(mockMvc, CLIENT_USERNAME, CLIENT_PASSWORD);
 	}
@@ -141,6 +152,12 @@ public abstract class AbstractUserControllerTest {
 		result.andExpect(jsonPath("$.errors[0].message").value("User's role must be specified"));
 	}
 	
+	protected void assertInvalidMissingRole(ResultActions result, Long roleId) throws Exception {
+		CustomizeControllerAsserts.assertUnprocessableEntity(result);
+		result.andExpect(jsonPath("$.errors[0].fieldName").value("roles"));
+		result.andExpect(jsonPath("$.errors[0].message").value("Role " + roleId + " does not exist"));
+	}
+	
 	protected void assertCreatedAndOutputDTO(ResultActions result) throws Exception {
 		CustomizeControllerAsserts.assertCreated(result);
 		assertOutputDTO(result);
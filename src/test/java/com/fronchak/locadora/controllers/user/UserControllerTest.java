@@ -1,6 +1,7 @@
 package com.fronchak.locadora.controllers.user;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -9,10 +10,16 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.web.servlet.ResultActions;
 
+import com.fronchak.locadora.dtos.pagination.KeysetPageDTO;
+
 import com.fronchak.locadora.dtos.user.UserOutputDTO;
 import com.fronchak.locadora.exceptions.DatabaseException;
 import com.fronchak.locadora.exceptions.ResourceNotFoundException;
@@ -21,6 +28,60 @@ import com.fronchak.locadora.util.CustomizeControllerAsserts;
 
 public class UserControllerTest extends AbstractUserControllerTest {
 
+	@Test
+	public void findAllByKeysetShouldReturnUnauthorizedWhenUserIsNotLogged() throws Exception {
+		ResultActions result = mockMvc.perform(get("/users")
+				.accept(MEDIA_TYPE));
+		CustomizeControllerAsserts.assertUnauthorized(result);
+	}
+	
+	@Test
+	public void findAllByKeysetShouldReturnForbiddenWhenClientIsLogged() throws Exception {
+		getClientToken();
+		ResultActions result = mockMvc.perform(get("/users")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		CustomizeControllerAsserts.assertForbidden(result);
+	}
+	
+	@Test
+	public void findAllByKeysetShouldReturnPageWhenOperatorIsLogged() throws Exception {
+		KeysetPageDTO<UserOutputDTO> page = new KeysetPageDTO<>(List.of(UserMocksFactory.mockUserOutputDTO()), 1, true, "next-cursor");
+		doReturn(page).when(service).findAllByKeyset(eq("abc"), eq(2L), any(Pageable.class));
+		getOperatorToken();
+		
+		ResultActions result = mockMvc.perform(get("/users")
+				.param("after", "abc")
+				.param("roleId", "2")
+				.param("size", "1")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		CustomizeControllerAsserts.assertSuccess(result);
+		result.andExpect(jsonPath("$.content[0].id").value(30L));
+		result.andExpect(jsonPath("$.content[0].email").value("mock_email_0@gmail.com.br"));
+		result.andExpect(jsonPath("$.hasNext").value(true));
+		result.andExpect(jsonPath("$.next").value("next-cursor"));
+	}
+	
+	@Test
+	public void findAllByKeysetShouldReturnFirstPageWithRolesWhenAdminIsLogged() throws Exception {
+		getAdminToken();
+		
+		ResultActions result = mockMvc.perform(get("/users")
+				.param("roleId", "1")
+				.param("sort", "email,desc")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		CustomizeControllerAsserts.assertSuccess(result);
+		result.andExpect(jsonPath("$.content.length()").value(2));
+		result.andExpect(jsonPath("$.content[0].email").value("gabriel@gmail.com"));
+		result.andExpect(jsonPath("$.content[1].email").value("fronchak@gmail.com"));
+		result.andExpect(jsonPath("$.content[1].roles.length()").value(2));
+		result.andExpect(jsonPath("$.hasNext").value(false));
+	}
+	
 	@Test
 	public void findByIdShouldReturnUnauthorizedWhenUserIsNotLogged() throws Exception {
 		ResultActions result = mockMvc.perform(get("/users/{id}", NON_EXISTING_ID)
@@ -0,0 +1,95 @@
+package com.fronchak.locadora.controllers.user;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fronchak.locadora.dtos.role.RoleInputDTO;
+import com.fronchak.locadora.dtos.user.UserInsertDTO;
+import com.fronchak.locadora.exceptions.ServiceUnavailableException;
+import com.fronchak.locadora.mocks.UserMocksFactory;
+
+public class UserPasswordEncoderControllerTest extends AbstractUserControllerTest {
+
+	private static final String USER_PASSWORD = "123456";
+	private static final long RETRY_AFTER = 7L;
+	
+	@Value("${security.oauth2.client.client-id}")
+	private String clientId;
+
+	@Value("${security.oauth2.client.client-secret}")
+	private String clientSecret;
+	
+	@SpyBean
+	private PasswordEncoder passwordEncoder;
+	
+	private ResultActions performTokenRequest() throws Exception {
+		return mockMvc.perform(post("/oauth/token")
+				.param("grant_type", "password")
+				.param("client_id", clientId)
+				.param("username", USED_EMAIL)
+				.param("password", USER_PASSWORD)
+				.with(httpBasic(clientId, clientSecret))
+				.accept(MEDIA_TYPE));
+	}
+	
+	private ServiceUnavailableException mockServiceUnavailableException() {
+		return new ServiceUnavailableException("Too many password operations in progress, please try again later", RETRY_AFTER);
+	}
+	
+	private void assertServiceUnavailable(ResultActions result) throws Exception {
+		result.andExpect(status().isServiceUnavailable());
+		result.andExpect(header().string(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER)));
+	}
+	
+	@Test
+	public void tokenShouldReturnServiceUnavailableWhenClientSecretCannotBeVerified() throws Exception {
+		doThrow(mockServiceUnavailableException()).when(passwordEncoder).matches(eq(clientSecret), anyString());
+		
+		ResultActions result = performTokenRequest();
+		
+		assertServiceUnavailable(result);
+		result.andExpect(jsonPath("$.error").value("temporarily_unavailable"));
+	}
+	
+	@Test
+	public void tokenShouldReturnServiceUnavailableWhenUserPasswordCannotBeVerified() throws Exception {
+		doThrow(mockServiceUnavailableException()).when(passwordEncoder).matches(eq(USER_PASSWORD), anyString());
+		
+		ResultActions result = performTokenRequest();
+		
+		assertServiceUnavailable(result);
+		result.andExpect(jsonPath("$.error").value("temporarily_unavailable"));
+	}
+	
+	@Test
+	public void saveShouldReturnServiceUnavailableWhenPasswordCannotBeEncoded() throws Exception {
+		UserInsertDTO insertDTO = UserMocksFactory.mockUserInsertDTO();
+		insertDTO.setRoles(Set.of(new RoleInputDTO(1L)));
+		getAdminToken();
+		doThrow(mockServiceUnavailableException()).when(passwordEncoder).encode(insertDTO.getPassword());
+		
+		ResultActions result = mockMvc.perform(post("/users")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE)
+				.content(mapper.writeValueAsString(insertDTO))
+				.contentType(MEDIA_TYPE));
+		
+		assertServiceUnavailable(result);
+		result.andExpect(jsonPath("$.error").value("Service unavailable"));
+	}
+}
@@ -0,0 +1,149 @@
+package com.fronchak.locadora.controllers.user;
+
+import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertCreated;
+import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertForbidden;
+import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertUnauthorized;
+import static com.fronchak.locadora.util.CustomizeControllerAsserts.assertUnprocessableEntity;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fronchak.locadora.dtos.user.UserBatchInsertDTO;
+import com.fronchak.locadora.dtos.user.UserBatchInsertOutputDTO;
+import com.fronchak.locadora.dtos.user.UserBatchItemOutputDTO;
+import com.fronchak.locadora.mocks.UserMocksFactory;
+
+public class UserSaveBatchControllerTest extends AbstractUserControllerTest {
+
+	private UserBatchInsertDTO batchInsertDTO;
+	private String body;
+	
+	private ResultActions result;
+	
+	@BeforeEach
+	public void setUp() {
+		batchInsertDTO = UserMocksFactory.mockUserBatchInsertDTO();
+	}
+	
+	private void convertBatchInsertDTOToJson() throws Exception {
+		body = mapper.writeValueAsString(batchInsertDTO);
+	}
+	
+	private void performPostWithoutToken() throws Exception {
+		result = mockMvc.perform(post("/users/batch")
+				.accept(MEDIA_TYPE)
+				.content(body)
+				.contentType(MEDIA_TYPE));
+	}
+	
+	private void performPostWithToken() throws Exception {
+		result = mockMvc.perform(post("/users/batch")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE)
+				.content(body)
+				.contentType(MEDIA_TYPE));
+	}
+	
+	private UserBatchItemOutputDTO mockItem(int index, Long id, String error) {
+		UserBatchItemOutputDTO item = new UserBatchItemOutputDTO(index, "mock_email_" + index + "@gmail.com.br");
+		item.setId(id);
+		if(error != null) {
+			item.addError(error);
+		}
+		item.setCreated(error == null);
+		return item;
+	}
+	
+	@Test
+	public void saveAllShouldReturnUnauthorizedWhenUserIsNotLogged() throws Exception {
+		convertBatchInsertDTOToJson();
+		
+		performPostWithoutToken();
+		
+		assertUnauthorized(result);
+	}
+	
+	@Test
+	public void saveAllShouldReturnForbiddenWhenClientIsLogged() throws Exception {
+		convertBatchInsertDTOToJson();
+		getClientToken();
+		
+		performPostWithToken();
+		
+		assertForbidden(result);
+	}
+	
+	@Test
+	public void saveAllShouldReturnCreatedWhenEveryUserIsCreated() throws Exception {
+		doReturn(new UserBatchInsertOutputDTO(List.of(mockItem(0, 40L, null), mockItem(1, 41L, null))))
+			.when(service).saveAll(any(UserBatchInsertDTO.class));
+		convertBatchInsertDTOToJson();
+		getOperatorToken();
+		
+		performPostWithToken();
+		
+		assertCreated(result);
+		result.andExpect(jsonPath("$.created").value(2));
+		result.andExpect(jsonPath("$.rejected").value(0));
+		result.andExpect(jsonPath("$.results[0].id").value(40L));
+		result.andExpect(jsonPath("$.results[1].id").value(41L));
+	}
+	
+	@Test
+	public void saveAllShouldReturnMultiStatusWhenSomeUsersAreRejected() throws Exception {
+		doReturn(new UserBatchInsertOutputDTO(List.of(mockItem(0, 40L, null), mockItem(1, null, "Email is repeated in this batch"))))
+			.when(service).saveAll(any(UserBatchInsertDTO.class));
+		convertBatchInsertDTOToJson();
+		getOperatorToken();
+		
+		performPostWithToken();
+		
+		result.andExpect(status().isMultiStatus());
+		result.andExpect(jsonPath("$.created").value(1));
+		result.andExpect(jsonPath("$.rejected").value(1));
+		result.andExpect(jsonPath("$.results[1].index").value(1));
+		result.andExpect(jsonPath("$.results[1].created").value(false));
+		result.andExpect(jsonPath("$.results[1].errors[0]").value("Email is repeated in this batch"));
+	}
+	
+	@Test
+	public void saveAllShouldReturnUnprocessableEntityWhenUsersAreEmpty() throws Exception {
+		batchInsertDTO.getUsers().clear();
+		convertBatchInsertDTOToJson();
+		getOperatorToken();
+		
+		performPostWithToken();
+		
+		assertUnprocessableEntity(result);
+		result.andExpect(jsonPath("$.errors[0].fieldName").value("users"));
+		verify(service, never()).saveAll(any(UserBatchInsertDTO.class));
+	}
+	
+	@Test
+	public void saveAllShouldReturnMultiStatusWithPerItemErrorsWhenUsersAreInvalid() throws Exception {
+		batchInsertDTO.getUsers().get(0).setEmail("invalid-email");
+		batchInsertDTO.getUsers().get(1).setPassword("123");
+		convertBatchInsertDTOToJson();
+		getOperatorToken();
+		
+		performPostWithToken();
+		
+		result.andExpect(status().isMultiStatus());
+		result.andExpect(jsonPath("$.created").value(0));
+		result.andExpect(jsonPath("$.rejected").value(2));
+		result.andExpect(jsonPath("$.results[0].errors[0]").value("Invalid email format, please try a valid email"));
+		result.andExpect(jsonPath("$.results[1].errors[0]").value("User's password must have at least 6 letters"));
+		verify(service, times(1)).saveAll(any(UserBatchInsertDTO.class));
+	}
+}
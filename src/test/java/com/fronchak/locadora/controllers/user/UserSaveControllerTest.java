@@ -3,6 +3,7 @@ package com.fronchak.locadora.controllers.user;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.web.servlet.ResultActions;
 
+import com.fronchak.locadora.dtos.role.RoleInputDTO;
 import com.fronchak.locadora.dtos.user.UserInsertDTO;
 import com.fronchak.locadora.dtos.user.UserOutputDTO;
 import com.fronchak.locadora.exceptions.ResourceNotFoundException;
@@ -27,6 +29,7 @@ public class UserSaveControllerTest extends AbstractUserControllerTest {
 	@BeforeEach
 	public void setUp() {
 		insertDTO = UserMocksFactory.mockUserInsertDTO();
+		useExistingRoles(insertDTO);
 		outputDTO = UserMocksFactory.mockUserOutputDTO();
 		doReturn(outputDTO).when(service).save(any(UserInsertDTO.class));
 	}
@@ -310,4 +313,16 @@ public class UserSaveControllerTest extends AbstractUserControllerTest {
 		
 		assertInvalidDuplicateEmail(result);
 	}
+	
+	@Test
+	public void saveShouldReturnUnprocessableEntityWithoutCallingServiceWhenRoleDoesNotExist() throws Exception {
+		insertDTO.addRole(new RoleInputDTO(NON_EXISTING_ROLE_ID));
+		convertInsertDTOToJson();
+		getAdminToken();
+		
+		performPostWithToken();
+		
+		assertInvalidMissingRole(result, NON_EXISTING_ROLE_ID);
+		verify(service, never()).save(any(UserInsertDTO.class));
+	}
 }
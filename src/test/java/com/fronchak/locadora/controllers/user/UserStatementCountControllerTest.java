@@ -0,0 +1,79 @@
+package com.fronchak.locadora.controllers.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fronchak.locadora.util.CustomizeControllerAsserts;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class UserStatementCountControllerTest extends AbstractUserControllerTest {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	private SessionFactory sessionFactory;
+	private Statistics statistics;
+	
+	@BeforeEach
+	public void setUp() {
+		sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		statistics = sessionFactory.getStatistics();
+	}
+	
+	private void resetStatistics() {
+		sessionFactory.getCache().evictAllRegions();
+		statistics.clear();
+	}
+	
+	@Test
+	public void tokenShouldLoadUserAndRolesWithOneStatementAndNoneOnceCached() throws Exception {
+		resetStatistics();
+		
+		getAdminToken();
+		assertEquals(1, statistics.getPrepareStatementCount());
+		
+		statistics.clear();
+		getAdminToken();
+		assertEquals(0, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	public void findByIdShouldLoadUserAndRolesWithOneStatement() throws Exception {
+		getAdminToken();
+		resetStatistics();
+		
+		ResultActions result = mockMvc.perform(get("/users/{id}", 2L)
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		CustomizeControllerAsserts.assertSuccess(result);
+		result.andExpect(jsonPath("$.roles.length()").value(2));
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	public void findAllByKeysetShouldLoadPageAndRolesWithTwoStatements() throws Exception {
+		getAdminToken();
+		resetStatistics();
+		
+		ResultActions result = mockMvc.perform(get("/users")
+				.header("Authorization", "Bearer " + accessToken)
+				.accept(MEDIA_TYPE));
+		
+		CustomizeControllerAsserts.assertSuccess(result);
+		result.andExpect(jsonPath("$.content[1].roles.length()").value(2));
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+}
@@ -4,6 +4,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.web.servlet.ResultActions;
 
+import com.fronchak.locadora.dtos.role.RoleInputDTO;
 import com.fronchak.locadora.dtos.user.UserOutputDTO;
 import com.fronchak.locadora.dtos.user.UserUpdateDTO;
 import com.fronchak.locadora.exceptions.InvalidPasswordException;
@@ -29,6 +31,7 @@ public class UserUpdateControllerTest extends AbstractUserControllerTest {
 	@BeforeEach
 	public void setUp() {
 		updateDTO = UserMocksFactory.mockUserUpdateDTO();
+		useExistingRoles(updateDTO);
 		outputDTO = UserMocksFactory.mockUserOutputDTO();
 		doReturn(outputDTO).when(service).update(any(UserUpdateDTO.class), eq(EXISTING_ID));
 		doThrow(ResourceNotFoundException.class).when(service).update(any(UserUpdateDTO.class), eq(NON_EXISTING_ID));
@@ -429,4 +432,16 @@ public class UserUpdateControllerTest extends AbstractUserControllerTest {
 		assertSuccessAndOutputDTO(result);
 		verify(service, times(1)).update(any(UserUpdateDTO.class), eq(1L));
 	}
+	
+	@Test
+	public void updateShouldReturnUnprocessableEntityWithoutCallingServiceWhenRoleDoesNotExist() throws Exception {
+		updateDTO.addRole(new RoleInputDTO(NON_EXISTING_ROLE_ID));
+		convertUpdateDTOToJson();
+		getAdminToken();
+		
+		performPutMethodWithToken(EXISTING_ID);
+		
+		assertInvalidMissingRole(result, NON_EXISTING_ROLE_ID);
+		verify(service, never()).update(any(UserUpdateDTO.class), eq(EXISTING_ID));
+	}
 }
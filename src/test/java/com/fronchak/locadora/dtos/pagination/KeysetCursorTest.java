@@ -0,0 +1,41 @@
+package com.fronchak.locadora.dtos.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.fronchak.locadora.exceptions.BadRequestException;
+
+@ExtendWith(SpringExtension.class)
+public class KeysetCursorTest {
+
+	@Test
+	public void firstShouldMakeCursorWithoutLastRow() {
+		KeysetCursor result = KeysetCursor.first("title", Direction.ASC);
+		assertTrue(result.isFirst());
+		assertNull(result.getLastValue());
+	}
+	
+	@Test
+	public void decodeShouldRestoreEncodedCursor() {
+		KeysetCursor cursor = KeysetCursor.first("title", Direction.DESC).after(7L, "Title, with: separators");
+		
+		KeysetCursor result = KeysetCursor.decode(cursor.encode());
+		
+		assertEquals("title", result.getProperty());
+		assertEquals(Direction.DESC, result.getDirection());
+		assertEquals(7L, result.getLastId());
+		assertEquals("Title, with: separators", result.getLastValue());
+	}
+	
+	@Test
+	public void decodeShouldThrowBadRequestExceptionWhenCursorIsMalformed() {
+		assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not a cursor"));
+	}
+}
@@ -1,9 +1,13 @@
 package com.fronchak.locadora.entities;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -82,4 +86,49 @@ public class UserTest {
 		assertTrue(result.contains(expected2));
 		assertEquals(2, result.size());
 	}
+	
+	@Test
+	public void getAuthoritiesShouldReturnSameImmutableCollectionUntilRolesChange() {
+		User user = new User();
+		user.addRole(RoleMocksFactory.mockRoleEntity(1));
+		
+		Collection<? extends GrantedAuthority> first = user.getAuthorities();
+		assertSame(first, user.getAuthorities());
+		assertThrows(UnsupportedOperationException.class, () -> first.clear());
+		
+		user.addRole(RoleMocksFactory.mockRoleEntity(2));
+		assertNotSame(first, user.getAuthorities());
+		assertEquals(2, user.getAuthorities().size());
+		
+		user.clearRoles();
+		assertTrue(user.getAuthorities().isEmpty());
+		assertTrue(user.getRoles().isEmpty());
+	}
+	
+	@Test
+	public void getAuthoritiesShouldShareGrantedAuthorityInstanceBetweenUsers() {
+		User user1 = new User();
+		User user2 = new User();
+		user1.addRole(RoleMocksFactory.mockRoleEntity(1));
+		user2.addRole(RoleMocksFactory.mockRoleEntity(1));
+		
+		assertSame(user1.getAuthorities().iterator().next(), user2.getAuthorities().iterator().next());
+	}
+	
+	@Test
+	public void getAuthorityNamesShouldReturnRoleAuthorities() {
+		User user = new User();
+		Role role = RoleMocksFactory.mockRoleEntity(1);
+		user.addRole(role);
+		
+		assertEquals(List.of(role.getAuthority()), user.getAuthorityNames());
+		assertSame(user.getAuthorityNames(), user.getAuthorityNames());
+	}
+	
+	@Test
+	public void getRolesShouldNotAllowChangesOutsideOfUser() {
+		User user = new User();
+		
+		assertThrows(UnsupportedOperationException.class, () -> user.getRoles().add(RoleMocksFactory.mockRoleEntity()));
+	}
 }
@@ -6,11 +6,9 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.springframework.data.domain.Page;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.fronchak.locadora.dtos.movie.MovieInsertDTO;
-import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
 import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
 import com.fronchak.locadora.entities.Movie;
 import com.fronchak.locadora.mocks.MovieMocksFactory;
@@ -26,13 +24,6 @@ public class MovieMapperTest {
 		mapper = new MovieMapper();
 	}
 	
-	@Test
-	public void convertEntityPageToOutputAllDTOPageShouldConvertCorrectly() {
-		Page<Movie> page = MovieMocksFactory.mockMovieEntityPage();
-		Page<MovieOutputAllDTO> resultPage = mapper.convertEntityPageToOutputAllDTOPage(page);
-		CustomizeAsserts.assertMovieOutputAllDTOPage(resultPage);
-	}
-	
 	@Test
 	public void convertEntityToOutputDTOShouldConvertCorrectly() {
 		Movie entity = MovieMocksFactory.mockMovieEntity();
@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
+import com.fronchak.locadora.dtos.movie.MovieBatchInsertDTO;
 import com.fronchak.locadora.dtos.movie.MovieInputDTO;
 import com.fronchak.locadora.dtos.movie.MovieInsertDTO;
 import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
@@ -26,6 +27,7 @@ public class MovieMocksFactory {
 		mock.setSynopsis(mockSynopsis(i));
 		mock.setDurationInMinutes(mockDurationInMinutes(i));
 		mock.setNote(mockNote(i));
+		mock.setVersion(0);
 		return mock;
 	}
 	
@@ -49,17 +51,6 @@ public class MovieMocksFactory {
 		return 1.0 + i;
 	}
 	
-	public static Page<Movie> mockMovieEntityPage() {
-		return new PageImpl<>(mockMovieEntityList());
-	}
-	
-	public static List<Movie> mockMovieEntityList() {
-		List<Movie> list = new ArrayList<>();
-		list.add(mockMovieEntity(0));
-		list.add(mockMovieEntity(1));
-		return list;
-	}
-	
 	public static Page<MovieOutputAllDTO> mockMovieOutputAllDTOPage() {
 		return new PageImpl<>(mockMovieOutputAllDTOList());
 	}
@@ -90,6 +81,7 @@ public class MovieMocksFactory {
 		mock.setSynopsis(mockSynopsis(i));
 		mock.setDurationInMinutes(mockDurationInMinutes(i));
 		mock.setNote(mockNote(i));
+		mock.setVersion(0);
 		return mock;
 	}
 	
@@ -105,6 +97,13 @@ public class MovieMocksFactory {
 		return mock;
 	}
 
+	public static MovieBatchInsertDTO mockMovieBatchInsertDTO() {
+		MovieBatchInsertDTO mock = new MovieBatchInsertDTO();
+		mock.getMovies().add(mockMovieInputDTO(new MovieInputDTO(), 0));
+		mock.getMovies().add(mockMovieInputDTO(new MovieInputDTO(), 1));
+		return mock;
+	}
+
 	public static MovieUpdateDTO mockMovieUpdateDTO() {
 		return (MovieUpdateDTO) mockMovieInputDTO(new MovieUpdateDTO(), 0);
 	}
@@ -1,5 +1,6 @@
 package com.fronchak.locadora.mocks;
 
+import com.fronchak.locadora.dtos.user.UserBatchInsertDTO;
 import com.fronchak.locadora.dtos.user.UserInputDTO;
 import com.fronchak.locadora.dtos.user.UserInsertDTO;
 import com.fronchak.locadora.dtos.user.UserOutputDTO;
@@ -50,6 +51,13 @@ public class UserMocksFactory {
 		return mock;
 	}
 	
+	public static UserBatchInsertDTO mockUserBatchInsertDTO() {
+		UserBatchInsertDTO mock = new UserBatchInsertDTO();
+		mock.getUsers().add(mockUserInputDTO(new UserInputDTO(), 0));
+		mock.getUsers().add(mockUserInputDTO(new UserInputDTO(), 1));
+		return mock;
+	}
+	
 	private static String mockRawPassword(int i) {
 		return "Raw123456-" + i;
 	}
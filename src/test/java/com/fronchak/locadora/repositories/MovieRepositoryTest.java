@@ -1,14 +1,36 @@
 package com.fronchak.locadora.repositories;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import com.fronchak.locadora.dtos.movie.MovieField;
+import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
+import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
+import com.fronchak.locadora.dtos.pagination.KeysetCursor;
 import com.fronchak.locadora.entities.Movie;
+import com.fronchak.locadora.exceptions.BadRequestException;
 
 @DataJpaTest
 public class MovieRepositoryTest {
@@ -20,16 +42,204 @@ public class MovieRepositoryTest {
 	private MovieRepository repository;
 	
 	@Test
-	public void findByTitleShouldReturnEntityWhenTitleExists() {
-		Movie result = repository.findByTitle(VALID_TITLE);
-		assertNotNull(result);
-		assertEquals(3, result.getId());
-		assertEquals(VALID_TITLE, result.getTitle());
+	public void saveAndFlushShouldIncrementVersionWhenEntityIsUpdated() {
+		Movie entity = repository.findById(1L).get();
+		assertEquals(0, entity.getVersion());
+		
+		entity.setNote(3.0);
+		entity = repository.saveAndFlush(entity);
+		
+		assertEquals(1, entity.getVersion());
+	}
+	
+	@Test
+	public void saveAndFlushShouldThrowObjectOptimisticLockingFailureExceptionWhenVersionIsStale() {
+		Movie entity = repository.findById(1L).get();
+		entity.setNote(3.0);
+		repository.saveAndFlush(entity);
+		
+		Movie stale = new Movie();
+		stale.setId(1L);
+		stale.setTitle(entity.getTitle());
+		stale.setSynopsis(entity.getSynopsis());
+		stale.setDurationInMinutes(entity.getDurationInMinutes());
+		stale.setNote(2.0);
+		stale.setVersion(0);
+		
+		assertThrows(ObjectOptimisticLockingFailureException.class, () -> repository.saveAndFlush(stale));
+	}
+	
+	@Test
+	public void streamAllSummariesShouldReturnEveryMovieSummary() {
+		List<MovieOutputAllDTO> result;
+		try(Stream<MovieOutputAllDTO> stream = repository.streamAllSummaries()) {
+			result = stream.collect(Collectors.toList());
+		}
+		assertEquals(3, result.size());
+		assertTrue(result.stream().anyMatch(dto -> dto.getId() == 3L && VALID_TITLE.equals(dto.getTitle()) && dto.getNote() == 4.5));
+	}
+	
+	@Test
+	public void findFieldsByIdShouldReturnOnlyRequestedFieldsWhenIdExists() {
+		Map<String, Object> result = repository.findFieldsById(3L, EnumSet.of(MovieField.ID, MovieField.TITLE, MovieField.NOTE)).get();
+		
+		assertEquals(List.of("id", "title", "note"), new ArrayList<>(result.keySet()));
+		assertEquals(3L, result.get("id"));
+		assertEquals(VALID_TITLE, result.get("title"));
+		assertEquals(4.5, result.get("note"));
+	}
+	
+	@Test
+	public void findFieldsByIdShouldReturnEmptyWhenIdDoesNotExist() {
+		assertTrue(repository.findFieldsById(1000L, EnumSet.of(MovieField.ID)).isEmpty());
+	}
+	
+	@Test
+	public void findFieldsPagedShouldReturnSortedPageWithOnlyRequestedFields() {
+		Page<Map<String, Object>> result = repository.findFieldsPaged(
+				EnumSet.of(MovieField.ID, MovieField.DURATION_IN_MINUTES), PageRequest.of(0, 2, Sort.by(Direction.DESC, "durationInMinutes")));
+		
+		assertEquals(3L, result.getTotalElements());
+		assertEquals(2, result.getContent().size());
+		assertEquals(Map.of("id", 2L, "durationInMinutes", 161), result.getContent().get(0));
+		assertEquals(Map.of("id", 1L, "durationInMinutes", 152), result.getContent().get(1));
+	}
+	
+	@Test
+	public void findFieldsPagedShouldThrowBadRequestExceptionWhenSortPropertyIsNotAField() {
+		assertThrows(BadRequestException.class, () -> repository.findFieldsPaged(
+				EnumSet.of(MovieField.ID), PageRequest.of(0, 2, Sort.by("version"))));
+	}
+	
+	@Test
+	public void findTopByNoteShouldReturnBestNotesFirst() {
+		List<MovieOutputAllDTO> result = repository.findTopByNote(PageRequest.of(0, 2));
+		
+		assertEquals(2, result.size());
+		assertEquals(3L, result.get(0).getId());
+		assertEquals(1L, result.get(1).getId());
+	}
+	
+	@Test
+	public void findAllSlicedShouldReportHasNextWithoutTotal() {
+		Slice<MovieOutputAllDTO> first = repository.findAllSliced(PageRequest.of(0, 2, Sort.by("id")));
+		Slice<MovieOutputAllDTO> last = repository.findAllSliced(PageRequest.of(1, 2, Sort.by("id")));
+		
+		assertFalse(first instanceof Page);
+		assertEquals(2, first.getNumberOfElements());
+		assertEquals(1L, first.getContent().get(0).getId());
+		assertTrue(first.hasNext());
+		assertEquals(1, last.getNumberOfElements());
+		assertEquals(3L, last.getContent().get(0).getId());
+		assertFalse(last.hasNext());
+	}
+	
+	@Test
+	public void findAllProjectedShouldReturnSortedOutputAllDTOPage() {
+		Page<MovieOutputAllDTO> result = repository.findAllProjected(PageRequest.of(0, 2, Sort.by("title")));
+		assertEquals(3L, result.getTotalElements());
+		assertEquals(2, result.getContent().size());
+		assertEquals(2L, result.getContent().get(0).getId());
+		assertEquals("Harry Potter and the Chamber of Secrets", result.getContent().get(0).getTitle());
+		assertEquals(4.4, result.getContent().get(0).getNote());
+		assertEquals(1L, result.getContent().get(1).getId());
+	}
+	
+	@Test
+	public void streamAllForExportShouldReturnAllMoviesOrderedById() {
+		try(Stream<MovieOutputDTO> stream = repository.streamAllForExport()) {
+			List<MovieOutputDTO> result = stream.collect(Collectors.toList());
+			assertEquals(3, result.size());
+			assertEquals(1L, result.get(0).getId());
+			assertEquals(152, result.get(0).getDurationInMinutes());
+			assertNotNull(result.get(0).getSynopsis());
+			assertEquals(3L, result.get(2).getId());
+		}
+	}
+	
+	@Test
+	public void findExistingTitlesShouldReturnOnlySavedTitles() {
+		List<String> result = repository.findExistingTitles(List.of(VALID_TITLE, INVALID_TITLE));
+		assertEquals(List.of(VALID_TITLE), result);
+	}
+	
+	@Test
+	public void insertInBatchesShouldPersistEntitiesWithSequenceIdsAfterSeedData() {
+		List<Movie> entities = new ArrayList<>();
+		for(int i = 0; i < 120; i++) {
+			Movie entity = new Movie();
+			entity.setTitle(INVALID_TITLE + " " + i);
+			entities.add(entity);
+		}
+		
+		repository.insertInBatches(entities);
+		
+		assertEquals(123L, repository.count());
+		Long firstId = entities.get(0).getId();
+		assertTrue(firstId > 3L);
+		assertEquals(firstId + 119L, entities.get(119).getId());
+	}
+	
+	@Test
+	public void existsByTitleShouldReturnTrueOnlyWhenTitleExists() {
+		assertTrue(repository.existsByTitle(VALID_TITLE));
+		assertFalse(repository.existsByTitle(INVALID_TITLE));
+	}
+	
+	@Test
+	public void findIdByTitleShouldReturnIdWhenTitleExists() {
+		assertEquals(Optional.of(3L), repository.findIdByTitle(VALID_TITLE));
+	}
+	
+	@Test
+	public void findIdByTitleShouldReturnEmptyWhenTitleDoesNotExist() {
+		assertTrue(repository.findIdByTitle(INVALID_TITLE).isEmpty());
+	}
+	
+	@Test
+	public void saveAndFlushShouldThrowDataIntegrityViolationExceptionWhenTitleAlreadyExists() {
+		Movie entity = new Movie();
+		entity.setTitle(VALID_TITLE);
+		assertThrows(DataIntegrityViolationException.class, () -> repository.saveAndFlush(entity));
+	}
+	
+	@Test
+	public void findAllByKeysetShouldReturnFirstRowsOrderedByIdWhenCursorIsFirst() {
+		List<MovieOutputAllDTO> result = repository.findAllByKeyset(KeysetCursor.first("id", Direction.ASC), 2);
+		assertEquals(2, result.size());
+		assertEquals(1L, result.get(0).getId());
+		assertEquals(2L, result.get(1).getId());
+	}
+	
+	@Test
+	public void findAllByKeysetShouldReturnRowsAfterLastIdWhenSortedById() {
+		KeysetCursor cursor = new KeysetCursor("id", Direction.ASC, 1L, "1");
+		List<MovieOutputAllDTO> result = repository.findAllByKeyset(cursor, 10);
+		assertEquals(2, result.size());
+		assertEquals(2L, result.get(0).getId());
+		assertEquals(3L, result.get(1).getId());
+	}
+	
+	@Test
+	public void findAllByKeysetShouldBreakTiesByIdWhenSortedByNoteDesc() {
+		List<MovieOutputAllDTO> result = repository.findAllByKeyset(KeysetCursor.first("note", Direction.DESC), 10);
+		assertEquals(3L, result.get(0).getId());
+		assertEquals(1L, result.get(1).getId());
+		assertEquals(2L, result.get(2).getId());
+		
+		KeysetCursor cursor = new KeysetCursor("note", Direction.DESC, 3L, "4.5");
+		result = repository.findAllByKeyset(cursor, 10);
+		assertEquals(2, result.size());
+		assertEquals(1L, result.get(0).getId());
+		assertEquals(2L, result.get(1).getId());
 	}
 	
 	@Test
-	public void findByTitleShouldReturnNullWhenTitleDoesNotExist() {
-		Movie result = repository.findByTitle(INVALID_TITLE);
-		assertNull(result);
+	public void findAllByKeysetShouldReturnRowsAfterLastTitleWhenSortedByTitle() {
+		KeysetCursor cursor = new KeysetCursor("title", Direction.ASC, 2L, "Harry Potter and the Chamber of Secrets");
+		List<MovieOutputAllDTO> result = repository.findAllByKeyset(cursor, 10);
+		assertEquals(2, result.size());
+		assertEquals(1L, result.get(0).getId());
+		assertEquals(VALID_TITLE, result.get(1).getTitle());
 	}
 }
@@ -0,0 +1,143 @@
+package com.fronchak.locadora.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.fronchak.locadora.entities.Movie;
+import com.fronchak.locadora.entities.Role;
+import com.fronchak.locadora.entities.User;
+
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.id.sequence.role_seq.increment_size=20"})
+public class PooledSequenceBatchInsertTest {
+
+	private static final int ROWS = 500;
+	
+	@Autowired
+	private MovieRepository movieRepository;
+	
+	@Autowired
+	private UserRepository userRepository;
+	
+	@Autowired
+	private RoleRepository roleRepository;
+	
+	@Autowired
+	private EntityManager entityManager;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	private Statistics statistics;
+	
+	@BeforeEach
+	public void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+	
+	@Entity
+	@Table(name = "identity_movie")
+	public static class IdentityMovie {
+		
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+		private String title;
+	}
+	
+	@Test
+	public void pooledSequenceShouldNeedFarFewerStatementsThanIdentityForTheSameBatch() {
+		for(int i = 0; i < ROWS; i++) {
+			IdentityMovie entity = new IdentityMovie();
+			entity.title = "Identity movie " + i;
+			entityManager.persist(entity);
+		}
+		entityManager.flush();
+		long identityStatements = statistics.getPrepareStatementCount();
+		
+		statistics.clear();
+		for(int i = 0; i < ROWS; i++) {
+			Movie entity = new Movie();
+			entity.setTitle("Pooled movie " + i);
+			entityManager.persist(entity);
+		}
+		entityManager.flush();
+		long pooledStatements = statistics.getPrepareStatementCount();
+		
+		assertEquals(ROWS, identityStatements);
+		assertTrue(pooledStatements * 10 < identityStatements,
+				"Expected pooled-lo to need far fewer statements than IDENTITY, but was " + pooledStatements + " vs " + identityStatements);
+	}
+	
+	@Test
+	public void sequenceGeneratorsShouldUsePooledLoWithConfiguredIncrementSizes() {
+		assertPooledLo(Movie.class, 50);
+		assertPooledLo(User.class, 50);
+		assertPooledLo(Role.class, 20);
+	}
+	
+	private void assertPooledLo(Class<?> entityClass, int incrementSize) {
+		SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+		Optimizer optimizer = ((SequenceStyleGenerator) sessionFactory.getIdentifierGenerator(entityClass.getName())).getOptimizer();
+		assertTrue(optimizer instanceof PooledLoOptimizer, entityClass.getSimpleName() + " uses " + optimizer.getClass().getSimpleName());
+		assertEquals(incrementSize, optimizer.getIncrementSize());
+	}
+	
+	@Test
+	public void saveAllMoviesShouldBatchInsertsWithPooledSequence() {
+		List<Movie> entities = new ArrayList<>();
+		for(int i = 0; i < ROWS; i++) {
+			Movie entity = new Movie();
+			entity.setTitle("Batch movie " + i);
+			entities.add(entity);
+		}
+		
+		movieRepository.saveAll(entities);
+		entityManager.flush();
+		
+		long statements = statistics.getPrepareStatementCount();
+		assertTrue(statements <= 2 * (ROWS / 50) + 2, "Expected batched statements but was " + statements);
+	}
+	
+	@Test
+	public void saveAllUsersShouldBatchInsertsForUsersAndRolesWithPooledSequence() {
+		List<User> entities = new ArrayList<>();
+		for(int i = 0; i < ROWS; i++) {
+			User entity = new User();
+			entity.setEmail("batch" + i + "@gmail.com");
+			entity.setPassword("password");
+			entity.addRole(roleRepository.getReferenceById(3L));
+			entities.add(entity);
+		}
+		
+		userRepository.saveAll(entities);
+		entityManager.flush();
+		
+		long statements = statistics.getPrepareStatementCount();
+		assertTrue(statements <= 3 * (ROWS / 50) + 3, "Expected batched statements but was " + statements);
+	}
+}
@@ -0,0 +1,80 @@
+package com.fronchak.locadora.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+public class SchemaIndexTest {
+
+	@Autowired
+	private EntityManager entityManager;
+	
+	private List<String> findIndexColumns(String table, String index) {
+		List<?> result = entityManager.createNativeQuery(
+				"SELECT c.COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS c "
+				+ "WHERE c.TABLE_NAME = ?1 AND c.INDEX_NAME LIKE ?2 ORDER BY c.ORDINAL_POSITION")
+				.setParameter(1, table.toUpperCase())
+				.setParameter(2, index.toUpperCase() + "%")
+				.getResultList();
+		return result.stream().map(Object::toString).collect(Collectors.toList());
+	}
+	
+	private String explain(String sql) {
+		List<?> result = entityManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+		return result.get(0).toString().toUpperCase();
+	}
+	
+	@Test
+	public void schemaShouldContainUniqueIndexOnMovieTitle() {
+		assertEquals(List.of("TITLE"), findIndexColumns("movie", "ux_movie_title"));
+	}
+	
+	@Test
+	public void schemaShouldContainCompositeIndexOnMovieNoteAndId() {
+		assertEquals(List.of("NOTE", "ID"), findIndexColumns("movie", "ix_movie_note"));
+	}
+	
+	@Test
+	public void schemaShouldContainUniqueIndexOnUserEmail() {
+		assertEquals(List.of("EMAIL"), findIndexColumns("tb_user", "ux_user_email"));
+	}
+	
+	@Test
+	public void schemaShouldContainIndexesOnUserRole() {
+		assertEquals(List.of("ID_USER", "ID_ROLE"), findIndexColumns("user_role", "primary_key"));
+		assertEquals(List.of("ID_ROLE"), findIndexColumns("user_role", "ix_user_role_role"));
+	}
+	
+	@Test
+	public void findByTitleShouldUseMovieTitleIndex() {
+		String plan = explain("SELECT id FROM movie WHERE title = 'Harry Potter and the Prisoner of Azkaban'");
+		assertTrue(plan.contains("UX_MOVIE_TITLE"), plan);
+	}
+	
+	@Test
+	public void findByEmailShouldUseUserEmailIndex() {
+		String plan = explain("SELECT id FROM tb_user WHERE email = 'fronchak@gmail.com'");
+		assertTrue(plan.contains("UX_USER_EMAIL"), plan);
+	}
+	
+	@Test
+	public void userRolesJoinShouldUseUserRoleIndex() {
+		String plan = explain("SELECT r.id FROM user_role ur INNER JOIN role r ON r.id = ur.id_role WHERE ur.id_user = 2");
+		assertTrue(plan.contains("PRIMARY_KEY_") && plan.contains(": ID_USER = "), plan);
+	}
+	
+	@Test
+	public void noteRangeSortedByNoteShouldUseMovieNoteIndex() {
+		String plan = explain("SELECT id, title, note FROM movie WHERE note <= 4.5 ORDER BY note DESC, id DESC");
+		assertTrue(plan.contains("IX_MOVIE_NOTE"), plan);
+	}
+}
@@ -0,0 +1,69 @@
+package com.fronchak.locadora.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTest {
+
+	private static final Long MOVIE_ID = 1L;
+	private static final String USER_EMAIL = "fronchak@gmail.com";
+	
+	@Autowired
+	private MovieRepository movieRepository;
+	
+	@Autowired
+	private UserRepository userRepository;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	
+	private Statistics statistics;
+	
+	@BeforeEach
+	public void setUp() {
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		sessionFactory.getCache().evictAllRegions();
+		statistics = sessionFactory.getStatistics();
+		statistics.clear();
+	}
+	
+	@Test
+	public void findByIdShouldHitMovieRegionAfterFirstLoad() {
+		movieRepository.findById(MOVIE_ID);
+		movieRepository.findById(MOVIE_ID);
+		
+		assertEquals(1, statistics.getDomainDataRegionStatistics("movie").getMissCount());
+		assertEquals(1, statistics.getDomainDataRegionStatistics("movie").getHitCount());
+		assertEquals(1, statistics.getEntityLoadCount());
+	}
+	
+	@Test
+	public void findWithRolesByEmailShouldLoadUserAndRolesFromCacheAfterFirstExecution() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.execute(status -> userRepository.findWithRolesByEmail(USER_EMAIL).getRoles().size());
+		int roles = transaction.execute(status -> userRepository.findWithRolesByEmail(USER_EMAIL).getRoles().size());
+		
+		assertEquals(2, roles);
+		assertEquals(1, statistics.getDomainDataRegionStatistics("user").getHitCount());
+		assertEquals(1, statistics.getDomainDataRegionStatistics("user-roles").getHitCount());
+		assertEquals(1, statistics.getQueryExecutionCount());
+		assertEquals(1, statistics.getCollectionLoadCount());
+	}
+}
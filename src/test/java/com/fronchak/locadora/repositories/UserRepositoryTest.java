@@ -3,14 +3,29 @@ package com.fronchak.locadora.repositories;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort.Direction;
 
+import com.fronchak.locadora.dtos.pagination.KeysetCursor;
+import com.fronchak.locadora.dtos.role.RoleOutputDTO;
+import com.fronchak.locadora.dtos.user.UserOutputDTO;
+
+import com.fronchak.locadora.entities.Role;
 import com.fronchak.locadora.entities.User;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 public class UserRepositoryTest {
 
 	private static final String EXISTING_EMAIL = "gabriel@gmail.com";
@@ -19,6 +34,13 @@ public class UserRepositoryTest {
 	@Autowired
 	private UserRepository repository;
 	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	private List<Long> ids(List<UserOutputDTO> users) {
+		return users.stream().map(UserOutputDTO::getId).collect(Collectors.toList());
+	}
+	
 	@Test
 	public void findByEmailShouldReturnUserWhenEmailExists() {
 		User result = repository.findByEmail(EXISTING_EMAIL);
@@ -32,4 +54,71 @@ public class UserRepositoryTest {
 		User result = repository.findByEmail(NON_EXISTING_EMAIL);
 		assertNull(result);
 	}
+	
+	@Test
+	public void findExistingEmailsShouldReturnOnlyEmailsAlreadySaved() {
+		List<String> result = repository.findExistingEmails(List.of(EXISTING_EMAIL, NON_EXISTING_EMAIL));
+		assertEquals(List.of(EXISTING_EMAIL), result);
+	}
+	
+	@Test
+	public void insertInBatchesShouldPersistUsersWithRoles() {
+		User first = new User();
+		first.setEmail("batch0@gmail.com");
+		first.setPassword("encoded");
+		first.addRole(new Role(1L, "ROLE_OPERATOR"));
+		User second = new User();
+		second.setEmail("batch1@gmail.com");
+		second.setPassword("encoded");
+		second.addRole(new Role(3L, "ROLE_CLIENT"));
+		
+		repository.insertInBatches(List.of(first, second));
+		
+		assertNotNull(first.getId());
+		assertNotNull(second.getId());
+		assertEquals(List.of("ROLE_CLIENT"), repository.findById(second.getId()).get().getAuthorityNames());
+		assertEquals(Set.copyOf(List.of("batch0@gmail.com", "batch1@gmail.com")),
+				Set.copyOf(repository.findExistingEmails(List.of("batch0@gmail.com", "batch1@gmail.com"))));
+	}
+	
+	@Test
+	public void findAllByKeysetShouldReturnRowsAfterLastIdWhenSortedById() {
+		List<UserOutputDTO> result = repository.findAllByKeyset(KeysetCursor.first("id", Direction.ASC), null, 2);
+		assertEquals(List.of(1L, 2L), ids(result));
+		assertEquals(EXISTING_EMAIL, result.get(0).getEmail());
+		assertTrue(result.get(0).getRoles().isEmpty());
+		
+		result = repository.findAllByKeyset(new KeysetCursor("id", Direction.ASC, 2L, "2"), null, 2);
+		assertEquals(List.of(3L), ids(result));
+	}
+	
+	@Test
+	public void findAllByKeysetShouldSeekByEmailAndBreakTiesById() {
+		assertEquals(List.of(3L, 1L, 2L), ids(repository.findAllByKeyset(KeysetCursor.first("email", Direction.DESC), null, 10)));
+		
+		KeysetCursor cursor = new KeysetCursor("email", Direction.ASC, 2L, "fronchak@gmail.com");
+		assertEquals(List.of(1L, 3L), ids(repository.findAllByKeyset(cursor, null, 10)));
+	}
+	
+	@Test
+	public void findAllByKeysetShouldFilterByRole() {
+		assertEquals(List.of(1L, 2L), ids(repository.findAllByKeyset(KeysetCursor.first("id", Direction.ASC), 1L, 10)));
+		assertEquals(List.of(2L, 1L), ids(repository.findAllByKeyset(KeysetCursor.first("id", Direction.DESC), 1L, 10)));
+		assertEquals(List.of(3L), ids(repository.findAllByKeyset(KeysetCursor.first("email", Direction.ASC), 3L, 10)));
+	}
+	
+	@Test
+	public void findAllByKeysetAndLoadRolesShouldRunOneQueryEachWithoutLoadingEntities() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		
+		List<UserOutputDTO> result = repository.findAllByKeyset(KeysetCursor.first("id", Direction.ASC), null, 10);
+		repository.loadRoles(result);
+		
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertEquals(0, statistics.getCollectionLoadCount());
+		assertEquals(Set.of(new RoleOutputDTO(1L, "ROLE_OPERATOR"), new RoleOutputDTO(2L, "ROLE_ADMIN")), result.get(1).getRoles());
+		assertEquals(Set.of(new RoleOutputDTO(3L, "ROLE_CLIENT")), result.get(2).getRoles());
+	}
 }
@@ -0,0 +1,124 @@
+package com.fronchak.locadora.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fronchak.locadora.config.CacheConfig;
+import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
+import com.fronchak.locadora.entities.Movie;
+import com.fronchak.locadora.mocks.MovieMocksFactory;
+import com.fronchak.locadora.repositories.MovieRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+@SpringBootTest
+public class MovieServiceCacheTest {
+
+	private static final Long VALID_ID = 10L;
+	
+	@Autowired
+	private MovieService service;
+	
+	@Autowired
+	private CacheManager cacheManager;
+	
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	
+	@MockBean
+	private MovieRepository repository;
+	
+	private CaffeineCache cache;
+	
+	@BeforeEach
+	public void setUp() {
+		cache = (CaffeineCache) cacheManager.getCache(CacheConfig.MOVIES_CACHE);
+		cache.clear();
+		Movie entity = MovieMocksFactory.mockMovieEntity();
+		when(repository.findById(VALID_ID)).thenReturn(Optional.of(entity));
+		when(repository.getReferenceById(VALID_ID)).thenReturn(entity);
+		when(repository.saveAndFlush(any(Movie.class))).thenReturn(entity);
+	}
+	
+	@Test
+	public void findByIdShouldHitRepositoryOnlyOnceWhenCalledTwice() {
+		CacheStats before = cache.getNativeCache().stats();
+		
+		service.findById(VALID_ID);
+		MovieOutputDTO result = service.findById(VALID_ID);
+		
+		assertEquals(VALID_ID, result.getId());
+		verify(repository, times(1)).findById(VALID_ID);
+		CacheStats stats = cache.getNativeCache().stats().minus(before);
+		assertEquals(1, stats.hitCount());
+		assertEquals(1, stats.missCount());
+	}
+	
+	@Test
+	public void updateShouldRefreshCachedEntry() {
+		service.findById(VALID_ID);
+		
+		service.update(MovieMocksFactory.mockMovieUpdateDTO(), VALID_ID, null);
+		MovieOutputDTO result = service.findById(VALID_ID);
+		
+		assertEquals("Mock movie title 0", result.getTitle());
+		verify(repository, times(1)).findById(VALID_ID);
+	}
+	
+	@Test
+	public void saveShouldPutCreatedMovieInCache() {
+		service.save(MovieMocksFactory.mockMovieInsertDTO());
+		service.findById(VALID_ID);
+		
+		verify(repository, times(0)).findById(VALID_ID);
+	}
+	
+	@Test
+	public void updateShouldRefreshCachedEntryOnlyAfterCommit() {
+		service.findById(VALID_ID);
+		cache.evict(VALID_ID);
+		
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			service.update(MovieMocksFactory.mockMovieUpdateDTO(), VALID_ID, null);
+			assertNull(cache.get(VALID_ID));
+		});
+		
+		assertNotNull(cache.get(VALID_ID));
+	}
+	
+	@Test
+	public void updateShouldNotTouchCacheWhenTransactionRollsBack() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			service.update(MovieMocksFactory.mockMovieUpdateDTO(), VALID_ID, null);
+			status.setRollbackOnly();
+		});
+		
+		assertNull(cache.get(VALID_ID));
+	}
+	
+	@Test
+	public void deleteShouldEvictCachedEntry() {
+		service.findById(VALID_ID);
+		
+		service.delete(VALID_ID);
+		service.findById(VALID_ID);
+		
+		verify(repository, times(2)).findById(VALID_ID);
+	}
+}
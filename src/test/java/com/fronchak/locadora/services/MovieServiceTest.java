@@ -1,16 +1,34 @@
 package com.fronchak.locadora.services;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityNotFoundException;
 
@@ -20,18 +38,41 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fronchak.locadora.components.MovieSearchIndex;
+import com.fronchak.locadora.components.MovieTitleSuggester;
+import com.fronchak.locadora.components.MovieTopRanking;
+import com.fronchak.locadora.dtos.movie.MovieBatchInsertDTO;
+import com.fronchak.locadora.dtos.movie.MovieExportFormat;
+import com.fronchak.locadora.dtos.movie.MovieField;
 import com.fronchak.locadora.dtos.movie.MovieInsertDTO;
+import com.fronchak.locadora.dtos.movie.MovieLookupOutputDTO;
 import com.fronchak.locadora.dtos.movie.MovieOutputAllDTO;
 import com.fronchak.locadora.dtos.movie.MovieOutputDTO;
 import com.fronchak.locadora.dtos.movie.MovieUpdateDTO;
+import com.fronchak.locadora.dtos.pagination.KeysetCursor;
+import com.fronchak.locadora.dtos.pagination.KeysetPageDTO;
+import com.fronchak.locadora.dtos.pagination.SliceDTO;
 import com.fronchak.locadora.entities.Movie;
+import com.fronchak.locadora.events.MovieChangedEvent;
+import com.fronchak.locadora.exceptions.BadRequestException;
+import com.fronchak.locadora.exceptions.ConflictException;
 import com.fronchak.locadora.exceptions.DatabaseException;
+import com.fronchak.locadora.exceptions.DuplicateFieldException;
+import com.fronchak.locadora.exceptions.PreconditionFailedException;
 import com.fronchak.locadora.exceptions.ResourceNotFoundException;
 import com.fronchak.locadora.mappers.MovieMapper;
 import com.fronchak.locadora.mocks.MovieMocksFactory;
@@ -51,24 +92,37 @@ public class MovieServiceTest {
 	@Mock
 	private MovieMapper mapper;
 	
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper();
+	
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+	
+	@Mock
+	private MovieSearchIndex searchIndex;
+	
+	@Mock
+	private MovieTitleSuggester titleSuggester;
+	
+	@Mock
+	private MovieTopRanking topRanking;
+	
 	@InjectMocks
 	private MovieService service;
 	
 	@BeforeEach
 	public void setUp() {
 		Movie entity = MovieMocksFactory.mockMovieEntity();
-		Page<Movie> entityPage = MovieMocksFactory.mockMovieEntityPage();
 		MovieOutputDTO outputDTO = MovieMocksFactory.mockMovieOutputDTO();
 		Page<MovieOutputAllDTO> outputAllDTOPage = MovieMocksFactory.mockMovieOutputAllDTOPage();
 		
 		when(repository.findById(VALID_ID)).thenReturn(Optional.of(entity));
 		when(repository.findById(INVALID_ID)).thenReturn(Optional.empty());
-		when(repository.findAll(any(Pageable.class))).thenReturn(entityPage);
-		when(repository.save(any(Movie.class))).thenReturn(entity);
+		when(repository.findAllProjected(any(Pageable.class))).thenReturn(outputAllDTOPage);
+		when(repository.saveAndFlush(any(Movie.class))).thenReturn(entity);
 		when(repository.getReferenceById(VALID_ID)).thenReturn(entity);
 		when(repository.getReferenceById(INVALID_ID)).thenThrow(EntityNotFoundException.class);
 		when(mapper.convertEntityToOutputDTO(entity)).thenReturn(outputDTO);
-		when(mapper.convertEntityPageToOutputAllDTOPage(entityPage)).thenReturn(outputAllDTOPage);	
 	}
 	
 	@Test
@@ -90,6 +144,70 @@ public class MovieServiceTest {
 		CustomizeAsserts.assertMovieOutputAllDTOPage(resultPage);
 	}
 	
+	@Test
+	public void findAllByKeysetShouldReturnNextCursorWhenThereAreMoreRows() {
+		ArgumentCaptor<KeysetCursor> argumentCaptor = ArgumentCaptor.forClass(KeysetCursor.class);
+		when(repository.findAllByKeyset(any(KeysetCursor.class), eq(2))).thenReturn(MovieMocksFactory.mockMovieOutputAllDTOList());
+		
+		KeysetPageDTO<MovieOutputAllDTO> result = service.findAllByKeyset("", PageRequest.of(0, 1, Sort.by(Direction.DESC, "note")));
+		
+		verify(repository).findAllByKeyset(argumentCaptor.capture(), eq(2));
+		assertTrue(argumentCaptor.getValue().isFirst());
+		assertEquals("note", argumentCaptor.getValue().getProperty());
+		assertEquals(1, result.getContent().size());
+		assertTrue(result.getHasNext());
+		KeysetCursor next = KeysetCursor.decode(result.getNext());
+		assertEquals(Direction.DESC, next.getDirection());
+		assertEquals(10L, next.getLastId());
+		assertEquals("1.0", next.getLastValue());
+	}
+	
+	@Test
+	public void findAllByKeysetShouldReturnNoCursorWhenThereAreNoMoreRows() {
+		String after = KeysetCursor.first("id", Direction.ASC).after(9L, 9L).encode();
+		when(repository.findAllByKeyset(any(KeysetCursor.class), eq(3))).thenReturn(MovieMocksFactory.mockMovieOutputAllDTOList());
+		
+		KeysetPageDTO<MovieOutputAllDTO> result = service.findAllByKeyset(after, PageRequest.of(0, 2));
+		
+		assertEquals(2, result.getContent().size());
+		assertFalse(result.getHasNext());
+		assertNull(result.getNext());
+	}
+	
+	@Test
+	public void findAllByKeysetShouldThrowBadRequestExceptionWhenSortPropertyIsNotSupported() {
+		Pageable pageable = PageRequest.of(0, 2, Sort.by("synopsis"));
+		assertThrows(BadRequestException.class, () -> service.findAllByKeyset("", pageable));
+	}
+	
+	@Test
+	public void exportShouldWriteOneJsonObjectPerLineWhenFormatIsNdjson() throws Exception {
+		when(repository.streamAllForExport()).thenReturn(Stream.of(MovieMocksFactory.mockMovieOutputDTO(0), MovieMocksFactory.mockMovieOutputDTO(1)));
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		
+		service.export(MovieExportFormat.NDJSON, outputStream);
+		
+		String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(2, lines.length);
+		MovieOutputDTO first = objectMapper.readValue(lines[0], MovieOutputDTO.class);
+		assertEquals(10L, first.getId());
+		assertEquals("Mock movie synopsis 0", first.getSynopsis());
+		assertEquals(11L, objectMapper.readValue(lines[1], MovieOutputDTO.class).getId());
+	}
+	
+	@Test
+	public void exportShouldWriteHeaderAndEscapedRowsWhenFormatIsCsv() throws Exception {
+		MovieOutputDTO dto = MovieMocksFactory.mockMovieOutputDTO();
+		dto.setTitle("Movie, \"quoted\"");
+		when(repository.streamAllForExport()).thenReturn(Stream.of(dto));
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		
+		service.export(MovieExportFormat.CSV, outputStream);
+		
+		assertEquals("id,title,synopsis,durationInMinutes,note\n"
+				+ "10,\"Movie, \"\"quoted\"\"\",Mock movie synopsis 0,100,1.0\n", outputStream.toString(StandardCharsets.UTF_8));
+	}
+	
 	@Test
 	public void saveShouldReturnOutputDTOAfterSaveEntity() {
 		MovieInsertDTO insertDTO = MovieMocksFactory.mockMovieInsertDTO();
@@ -97,7 +215,7 @@ public class MovieServiceTest {
 		
 		MovieOutputDTO result = service.save(insertDTO);
 
-		verify(repository).save(argumentCaptor.capture());
+		verify(repository).saveAndFlush(argumentCaptor.capture());
 		Movie entity = argumentCaptor.getValue();
 		assertNull(entity.getId());
 		
@@ -105,6 +223,165 @@ public class MovieServiceTest {
 		verify(mapper).copyDTOToEntity(insertDTO, entity);
 	}
 	
+	@Test
+	public void findAllSlicedShouldReturnSliceDTOWithoutCounting() {
+		Pageable pageable = PageRequest.of(0, 2);
+		when(repository.findAllSliced(pageable)).thenReturn(new SliceImpl<>(MovieMocksFactory.mockMovieOutputAllDTOList(), pageable, true));
+		
+		SliceDTO<MovieOutputAllDTO> result = service.findAllSliced(pageable);
+		
+		assertEquals(0, result.getNumber());
+		assertEquals(2, result.getSize());
+		assertTrue(result.getHasNext());
+		assertEquals(MovieMocksFactory.mockMovieOutputAllDTOList().size(), result.getContent().size());
+		verify(repository, never()).findAllProjected(any());
+		verify(repository, never()).count();
+	}
+	
+	@Test
+	public void findFieldsByIdShouldQueryOnlyRequestedFieldsAndId() {
+		Map<String, Object> expected = Map.of("id", VALID_ID, "title", "Mock movie title 0");
+		when(repository.findFieldsById(VALID_ID, EnumSet.of(MovieField.ID, MovieField.TITLE))).thenReturn(Optional.of(expected));
+		
+		assertEquals(expected, service.findFieldsById(VALID_ID, "title"));
+	}
+	
+	@Test
+	public void findFieldsByIdShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
+		when(repository.findFieldsById(eq(INVALID_ID), any())).thenReturn(Optional.empty());
+		
+		assertThrows(ResourceNotFoundException.class, () -> service.findFieldsById(INVALID_ID, "title"));
+	}
+	
+	@Test
+	public void findFieldsPagedShouldThrowBadRequestExceptionWhenFieldIsUnknown() {
+		assertThrows(BadRequestException.class, () -> service.findFieldsPaged("title,version", PageRequest.of(0, 10)));
+		verify(repository, never()).findFieldsPaged(any(), any());
+	}
+	
+	@Test
+	public void findAllByIdsShouldPreserveRequestOrderAndReportMissingIds() {
+		Movie first = MovieMocksFactory.mockMovieEntity(0);
+		Movie second = MovieMocksFactory.mockMovieEntity(1);
+		when(repository.findAllById(anyCollection())).thenReturn(List.of(first, second));
+		when(mapper.convertEntityToOutputDTO(first)).thenReturn(MovieMocksFactory.mockMovieOutputDTO(0));
+		when(mapper.convertEntityToOutputDTO(second)).thenReturn(MovieMocksFactory.mockMovieOutputDTO(1));
+		
+		MovieLookupOutputDTO result = service.findAllByIds(List.of(second.getId(), INVALID_ID, first.getId(), second.getId()));
+		
+		assertEquals(2, result.getContent().size());
+		assertEquals(second.getId(), result.getContent().get(0).getId());
+		assertEquals(first.getId(), result.getContent().get(1).getId());
+		assertEquals(List.of(INVALID_ID), result.getMissingIds());
+		verify(repository, times(1)).findAllById(Set.of(second.getId(), INVALID_ID, first.getId()));
+	}
+	
+	@Test
+	public void findAllByIdsShouldThrowBadRequestExceptionWhenIdsAreEmptyOrExceedLimit() {
+		List<Long> tooMany = LongStream.rangeClosed(1, MovieService.MAX_LOOKUP_SIZE + 1).boxed().collect(Collectors.toList());
+		
+		assertThrows(BadRequestException.class, () -> service.findAllByIds(List.of()));
+		assertThrows(BadRequestException.class, () -> service.findAllByIds(tooMany));
+		verify(repository, never()).findAllById(any());
+	}
+	
+	@Test
+	public void findTopShouldReturnRankingWhenNIsWithinCapacity() {
+		List<MovieOutputAllDTO> expected = MovieMocksFactory.mockMovieOutputAllDTOList();
+		when(topRanking.getCapacity()).thenReturn(100);
+		when(topRanking.findTop(20)).thenReturn(expected);
+		
+		assertEquals(expected, service.findTop(20));
+	}
+	
+	@Test
+	public void findTopShouldThrowBadRequestExceptionWhenNIsOutOfRange() {
+		when(topRanking.getCapacity()).thenReturn(100);
+		
+		assertThrows(BadRequestException.class, () -> service.findTop(0));
+		assertThrows(BadRequestException.class, () -> service.findTop(101));
+		verify(topRanking, never()).findTop(anyInt());
+	}
+	
+	@Test
+	public void searchShouldReturnIndexResultWhenQueryIsValid() {
+		List<MovieOutputAllDTO> expected = MovieMocksFactory.mockMovieOutputAllDTOList();
+		when(searchIndex.search("harry", 20)).thenReturn(expected);
+		
+		assertEquals(expected, service.search("harry", 20));
+	}
+	
+	@Test
+	public void searchShouldThrowBadRequestExceptionWhenQueryIsBlankOrSizeIsOutOfRange() {
+		assertThrows(BadRequestException.class, () -> service.search("  ", 20));
+		assertThrows(BadRequestException.class, () -> service.search("harry", 0));
+		assertThrows(BadRequestException.class, () -> service.search("harry", MovieService.MAX_SEARCH_SIZE + 1));
+		verify(searchIndex, never()).search(any(), anyInt());
+	}
+	
+	@Test
+	public void suggestShouldReturnSuggesterResultWhenPrefixIsValid() {
+		List<MovieOutputAllDTO> expected = MovieMocksFactory.mockMovieOutputAllDTOList();
+		when(titleSuggester.suggest("har", 10)).thenReturn(expected);
+		
+		assertEquals(expected, service.suggest("har", 10));
+	}
+	
+	@Test
+	public void suggestShouldThrowBadRequestExceptionWhenPrefixIsBlankOrSizeIsOutOfRange() {
+		assertThrows(BadRequestException.class, () -> service.suggest("", 10));
+		assertThrows(BadRequestException.class, () -> service.suggest("har", MovieService.MAX_SUGGEST_SIZE + 1));
+		verify(titleSuggester, never()).suggest(any(), anyInt());
+	}
+	
+	@Test
+	public void saveShouldPublishMovieChangedEvent() {
+		ArgumentCaptor<MovieChangedEvent> argumentCaptor = ArgumentCaptor.forClass(MovieChangedEvent.class);
+		
+		service.save(MovieMocksFactory.mockMovieInsertDTO());
+		
+		verify(eventPublisher).publishEvent(argumentCaptor.capture());
+		assertEquals(List.of(10L), argumentCaptor.getValue().getIds());
+		assertEquals(10L, argumentCaptor.getValue().getMovies().get(0).getId());
+	}
+	
+	@Test
+	public void saveShouldThrowDuplicateFieldExceptionWhenTitleConstraintIsViolated() {
+		when(repository.saveAndFlush(any(Movie.class))).thenThrow(new DataIntegrityViolationException(
+				"could not execute statement", new RuntimeException("Unique index or primary key violation: \"PUBLIC.UX_MOVIE_TITLE_INDEX_4\"")));
+		
+		DuplicateFieldException e = assertThrows(DuplicateFieldException.class, () -> service.save(MovieMocksFactory.mockMovieInsertDTO()));
+		assertEquals("title", e.getFieldName());
+	}
+	
+	@Test
+	public void saveShouldThrowDatabaseExceptionWhenOtherConstraintIsViolated() {
+		when(repository.saveAndFlush(any(Movie.class))).thenThrow(new DataIntegrityViolationException(
+				"could not execute statement", new RuntimeException("NULL not allowed for column \"TITLE\"")));
+		
+		assertThrows(DatabaseException.class, () -> service.save(MovieMocksFactory.mockMovieInsertDTO()));
+	}
+	
+	@Test
+	public void saveAllShouldInsertEntitiesInBatchesAndReturnOutputAllDTOs() {
+		MovieBatchInsertDTO batchInsertDTO = MovieMocksFactory.mockMovieBatchInsertDTO();
+		doAnswer(invocation -> {
+			List<Movie> entities = invocation.getArgument(0);
+			for(int i = 0; i < entities.size(); i++) {
+				entities.get(i).setId(MovieMocksFactory.mockId(i));
+			}
+			return null;
+		}).when(repository).insertInBatches(anyList());
+		
+		List<MovieOutputAllDTO> result = service.saveAll(batchInsertDTO);
+		
+		assertEquals(2, result.size());
+		assertEquals(10L, result.get(0).getId());
+		assertEquals(11L, result.get(1).getId());
+		verify(mapper, times(1)).copyDTOToEntity(eq(batchInsertDTO.getMovies().get(0)), any(Movie.class));
+		verify(mapper, times(1)).copyDTOToEntity(eq(batchInsertDTO.getMovies().get(1)), any(Movie.class));
+	}
+	
 	@Test
 	public void updateShouldReturnOutputDTOWhenIdExists() {
 		MovieUpdateDTO updateDTO = MovieMocksFactory.mockMovieUpdateDTO();
@@ -113,23 +390,65 @@ public class MovieServiceTest {
 		MovieOutputDTO outputDTO = MovieMocksFactory.mockMovieOutputDTO(1);
 		
 		when(repository.getReferenceById(VALID_ID)).thenReturn(entity);
-		when(repository.save(entity)).thenReturn(entityAuxiliar);
+		when(repository.saveAndFlush(entity)).thenReturn(entityAuxiliar);
 		when(mapper.convertEntityToOutputDTO(entityAuxiliar)).thenReturn(outputDTO);
 		
 		ArgumentCaptor<Movie> argumentCaptor = ArgumentCaptor.forClass(Movie.class);
 		
-		MovieOutputDTO result = service.update(updateDTO, VALID_ID);
+		MovieOutputDTO result = service.update(updateDTO, VALID_ID, null);
 		CustomizeAsserts.assertMovieOutputDTOAuxiliar(result);
 		
-		verify(repository).save(argumentCaptor.capture());
+		verify(repository).saveAndFlush(argumentCaptor.capture());
 		Movie resultEntity = argumentCaptor.getValue();
 		CustomizeAsserts.assertMovieEntity(resultEntity);
 		verify(mapper, times(1)).copyDTOToEntity(updateDTO, resultEntity);
 	}
 	
+	@Test
+	public void updateShouldReturnOutputDTOWhenExpectedVersionMatches() {
+		Movie entity = MovieMocksFactory.mockMovieEntity();
+		when(repository.getReferenceById(VALID_ID)).thenReturn(entity);
+		when(repository.saveAndFlush(entity)).thenReturn(entity);
+		when(mapper.convertEntityToOutputDTO(entity)).thenReturn(MovieMocksFactory.mockMovieOutputDTO());
+		
+		assertDoesNotThrow(() -> service.update(MovieMocksFactory.mockMovieUpdateDTO(), VALID_ID, 0));
+		verify(repository, times(1)).saveAndFlush(entity);
+	}
+	
+	@Test
+	public void updateShouldThrowPreconditionFailedExceptionWhenExpectedVersionDoesNotMatch() {
+		Movie entity = MovieMocksFactory.mockMovieEntity();
+		when(repository.getReferenceById(VALID_ID)).thenReturn(entity);
+		
+		assertThrows(PreconditionFailedException.class, () -> service.update(MovieMocksFactory.mockMovieUpdateDTO(), VALID_ID, 1));
+		verify(mapper, never()).copyDTOToEntity(any(), any());
+		verify(repository, never()).saveAndFlush(any());
+		verify(eventPublisher, never()).publishEvent(any());
+	}
+	
+	@Test
+	public void updateShouldThrowPreconditionFailedExceptionWhenConcurrentUpdateWinsAndExpectedVersionIsInformed() {
+		Movie entity = MovieMocksFactory.mockMovieEntity();
+		when(repository.getReferenceById(VALID_ID)).thenReturn(entity);
+		when(repository.saveAndFlush(entity)).thenThrow(new ObjectOptimisticLockingFailureException(Movie.class, VALID_ID));
+		
+		assertThrows(PreconditionFailedException.class, () -> service.update(MovieMocksFactory.mockMovieUpdateDTO(), VALID_ID, 0));
+	}
+	
+	@Test
+	public void updateShouldThrowConflictExceptionWhenConcurrentUpdateWinsAndExpectedVersionIsNotInformed() {
+		Movie entity = MovieMocksFactory.mockMovieEntity();
+		when(repository.getReferenceById(VALID_ID)).thenReturn(entity);
+		when(repository.saveAndFlush(entity)).thenThrow(new ObjectOptimisticLockingFailureException(Movie.class, VALID_ID));
+		
+		assertThrows(ConflictException.class, () -> service.update(MovieMocksFactory.mockMovieUpdateDTO(), VALID_ID, null));
+		verify(eventPublisher, never()).publishEvent(any());
+	}
+	
 	@Test
 	public void updateShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
-		assertThrows(ResourceNotFoundException.class, () -> service.update(mock(MovieUpdateDTO.class), INVALID_ID));
+		assertThrows(ResourceNotFoundException.class, () -> service.update(mock(MovieUpdateDTO.class), INVALID_ID, null));
+		verify(eventPublisher, never()).publishEvent(any());
 	}
 	
 	@Test
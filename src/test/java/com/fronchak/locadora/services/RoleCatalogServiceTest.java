@@ -0,0 +1,79 @@
+package com.fronchak.locadora.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.fronchak.locadora.entities.Role;
+import com.fronchak.locadora.exceptions.ResourceNotFoundException;
+import com.fronchak.locadora.mocks.RoleMocksFactory;
+import com.fronchak.locadora.repositories.RoleRepository;
+
+@ExtendWith(SpringExtension.class)
+public class RoleCatalogServiceTest {
+
+	@Mock
+	private RoleRepository repository;
+	
+	@InjectMocks
+	private RoleCatalogService service;
+	
+	private Role role1;
+	private Role role2;
+	
+	@BeforeEach
+	public void setUp() {
+		role1 = RoleMocksFactory.mockRoleEntity(0);
+		role2 = RoleMocksFactory.mockRoleEntity(1);
+		when(repository.findAll()).thenReturn(List.of(role1, role2));
+	}
+	
+	@Test
+	public void getByIdShouldLoadCatalogOnceAndReturnRoleWithoutFurtherQueries() {
+		assertSame(role1, service.getById(role1.getId()));
+		assertSame(role2, service.getById(role2.getId()));
+		assertSame(role1, service.getById(role1.getId()));
+		
+		verify(repository, times(1)).findAll();
+	}
+	
+	@Test
+	public void getByIdShouldThrowResourceNotFoundExceptionWhenRoleDoesNotExist() {
+		assertThrows(ResourceNotFoundException.class, () -> service.getById(1000L));
+	}
+	
+	@Test
+	public void findMissingIdsShouldReturnSortedDistinctUnknownIds() {
+		List<Long> result = service.findMissingIds(Arrays.asList(1001L, role1.getId(), null, 1000L, 1001L));
+		
+		assertEquals(List.of(1000L, 1001L), result);
+		assertTrue(service.findMissingIds(List.of(role1.getId(), role2.getId())).isEmpty());
+	}
+	
+	@Test
+	public void refreshShouldReloadCatalog() {
+		service.refresh();
+		assertThrows(ResourceNotFoundException.class, () -> service.getById(1000L));
+		
+		Role newRole = new Role(1000L, "ROLE_NEW");
+		when(repository.findAll()).thenReturn(List.of(role1, role2, newRole));
+		service.refresh();
+		
+		assertSame(newRole, service.getById(1000L));
+		verify(repository, times(2)).findAll();
+	}
+}
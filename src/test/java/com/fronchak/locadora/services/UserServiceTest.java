@@ -2,19 +2,35 @@ package com.fronchak.locadora.services;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.persistence.EntityNotFoundException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,22 +39,34 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.fronchak.locadora.dtos.pagination.KeysetCursor;
+import com.fronchak.locadora.dtos.pagination.KeysetPageDTO;
+import com.fronchak.locadora.dtos.user.UserBatchInsertDTO;
+import com.fronchak.locadora.dtos.user.UserBatchInsertOutputDTO;
+import com.fronchak.locadora.dtos.user.UserBatchItemOutputDTO;
+import com.fronchak.locadora.dtos.user.UserInputDTO;
 import com.fronchak.locadora.dtos.user.UserInsertDTO;
 import com.fronchak.locadora.dtos.user.UserOutputDTO;
 import com.fronchak.locadora.dtos.user.UserUpdateDTO;
 import com.fronchak.locadora.entities.Role;
 import com.fronchak.locadora.entities.User;
+import com.fronchak.locadora.exceptions.BadRequestException;
 import com.fronchak.locadora.exceptions.DatabaseException;
+import com.fronchak.locadora.exceptions.DuplicateFieldException;
 import com.fronchak.locadora.exceptions.InvalidPasswordException;
 import com.fronchak.locadora.exceptions.ResourceNotFoundException;
 import com.fronchak.locadora.mappers.UserMapper;
 import com.fronchak.locadora.mocks.RoleMocksFactory;
 import com.fronchak.locadora.mocks.UserMocksFactory;
-import com.fronchak.locadora.repositories.RoleRepository;
 import com.fronchak.locadora.repositories.UserRepository;
 import com.fronchak.locadora.util.CustomizeAsserts;
 
@@ -56,13 +84,19 @@ public class UserServiceTest {
 	private UserRepository repository;
 	
 	@Mock
-	private RoleRepository roleRepository;
+	private RoleCatalogService roleCatalog;
 	
 	@Mock
 	private UserMapper mapper;
 	
 	@Mock
-	private BCryptPasswordEncoder passwordEncoder;
+	private PasswordEncoder passwordEncoder;
+	
+	@Mock
+	private Validator validator;
+	
+	@Mock
+	private PlatformTransactionManager transactionManager;
 	
 	@InjectMocks
 	private UserService service;
@@ -70,20 +104,63 @@ public class UserServiceTest {
 	@Test
 	public void loadUserByUsernameShouldReturnUserWhenUsernameExists() {
 		User entity = UserMocksFactory.mockUserEntity();
-		when(repository.findByEmail(EXISTING_USERNAME)).thenReturn(entity);
+		when(repository.findWithRolesByEmail(EXISTING_USERNAME)).thenReturn(entity);
 		
 		User result = (User) service.loadUserByUsername(EXISTING_USERNAME);
 		assertEquals(30L, result.getId());
 		assertEquals("mock_email_0@gmail.com.br", result.getEmail());
 		assertEquals("Encode123456-0", result.getPassword());
-		verify(repository, times(1)).findByEmail(EXISTING_USERNAME);
+		verify(repository, times(1)).findWithRolesByEmail(EXISTING_USERNAME);
 	}
 	
 	@Test
 	public void loadUserByUsernameShouldThrowUsernameNotFoundExceptionWhenUsernameDoesNotExist() {
-		when(repository.findByEmail(NON_EXISTING_USERNAME)).thenReturn(null);
+		when(repository.findWithRolesByEmail(NON_EXISTING_USERNAME)).thenReturn(null);
 		assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername(NON_EXISTING_USERNAME));
-		verify(repository, times(1)).findByEmail(NON_EXISTING_USERNAME);
+		verify(repository, times(1)).findWithRolesByEmail(NON_EXISTING_USERNAME);
+	}
+	
+	@Test
+	public void findAllByKeysetShouldLoadRolesOnceForTrimmedPageAndReturnNextCursor() {
+		List<UserOutputDTO> rows = new ArrayList<>(List.of(new UserOutputDTO(2L, "b@gmail.com"),
+				new UserOutputDTO(1L, "c@gmail.com"), new UserOutputDTO(3L, "d@gmail.com")));
+		ArgumentCaptor<KeysetCursor> argumentCaptor = ArgumentCaptor.forClass(KeysetCursor.class);
+		when(repository.findAllByKeyset(any(KeysetCursor.class), eq(1L), eq(3))).thenReturn(rows);
+		
+		KeysetPageDTO<UserOutputDTO> result = service.findAllByKeyset("", 1L, PageRequest.of(0, 2, Sort.by("email")));
+		
+		verify(repository).findAllByKeyset(argumentCaptor.capture(), eq(1L), eq(3));
+		assertTrue(argumentCaptor.getValue().isFirst());
+		verify(repository, times(1)).loadRoles(rows.subList(0, 2));
+		assertEquals(2, result.getContent().size());
+		assertTrue(result.getHasNext());
+		KeysetCursor next = KeysetCursor.decode(result.getNext());
+		assertEquals("email", next.getProperty());
+		assertEquals(Direction.ASC, next.getDirection());
+		assertEquals(1L, next.getLastId());
+		assertEquals("c@gmail.com", next.getLastValue());
+	}
+	
+	@Test
+	public void findAllByKeysetShouldReturnNoCursorWhenThereAreNoMoreRows() {
+		String after = KeysetCursor.first("id", Direction.ASC).after(1L, 1L).encode();
+		List<UserOutputDTO> rows = List.of(new UserOutputDTO(2L, "b@gmail.com"));
+		when(repository.findAllByKeyset(any(KeysetCursor.class), isNull(), eq(3))).thenReturn(rows);
+		
+		KeysetPageDTO<UserOutputDTO> result = service.findAllByKeyset(after, null, PageRequest.of(0, 2));
+		
+		verify(repository, times(1)).loadRoles(rows);
+		assertEquals(1, result.getContent().size());
+		assertFalse(result.getHasNext());
+		assertNull(result.getNext());
+	}
+	
+	@Test
+	public void findAllByKeysetShouldThrowBadRequestExceptionWhenSortPropertyIsNotSupported() {
+		Pageable pageable = PageRequest.of(0, 2, Sort.by("password"));
+		
+		assertThrows(BadRequestException.class, () -> service.findAllByKeyset("", null, pageable));
+		verify(repository, never()).findAllByKeyset(any(), any(), anyInt());
 	}
 	
 	@Test
@@ -118,18 +195,18 @@ public class UserServiceTest {
 		Role role2 = RoleMocksFactory.mockRoleEntity(1);
 		ArgumentCaptor<User> argumentCaptor = ArgumentCaptor.forClass(User.class);
 		
-		when(repository.save(any(User.class))).thenReturn(entity);
+		when(repository.saveAndFlush(any(User.class))).thenReturn(entity);
 		when(mapper.convertEntityToOutputDTO(entity)).thenReturn(outputDTO);
 		when(passwordEncoder.encode(insertDTO.getPassword())).thenReturn(passwordEncoded);
-		when(roleRepository.getReferenceById(20L)).thenReturn(role1);
-		when(roleRepository.getReferenceById(21L)).thenReturn(role2);
+		when(roleCatalog.getById(20L)).thenReturn(role1);
+		when(roleCatalog.getById(21L)).thenReturn(role2);
 		
 		UserOutputDTO result = service.save(insertDTO);
-		verify(repository).save(argumentCaptor.capture());
+		verify(repository).saveAndFlush(argumentCaptor.capture());
 		User userResult = argumentCaptor.getValue();
 		
-		verify(roleRepository, times(1)).getReferenceById(20L);
-		verify(roleRepository, times(1)).getReferenceById(21L);
+		verify(roleCatalog, times(1)).getById(20L);
+		verify(roleCatalog, times(1)).getById(21L);
 		verify(mapper, times(1)).copyDTOToEntity(insertDTO, userResult);
 		verify(passwordEncoder, times(1)).encode(insertDTO.getPassword());
 		assertEquals(passwordEncoded, userResult.getPassword());
@@ -139,26 +216,40 @@ public class UserServiceTest {
 		CustomizeAsserts.assertUserOutputDTO(result);
 	}
 	
+	private DataIntegrityViolationException makeEmailConstraintViolation() {
+		return new DataIntegrityViolationException(
+				"could not execute statement", new RuntimeException("Unique index or primary key violation: \"PUBLIC.UX_USER_EMAIL_INDEX_A\""));
+	}
+	
 	@Test
-	public void saveShouldThrowDatabaseExceptionWhenRoleIdDoesNotExist() {
+	public void saveShouldThrowDuplicateFieldExceptionWhenEmailConstraintIsViolated() {
+		when(roleCatalog.getById(anyLong())).thenReturn(RoleMocksFactory.mockRoleEntity());
+		when(repository.saveAndFlush(any(User.class))).thenThrow(makeEmailConstraintViolation());
+		
+		DuplicateFieldException e = assertThrows(DuplicateFieldException.class, () -> service.save(UserMocksFactory.mockUserInsertDTO()));
+		assertEquals("email", e.getFieldName());
+		assertEquals("Email already been used, please choose another one", e.getMessage());
+	}
+	
+	@Test
+	public void saveShouldThrowDatabaseExceptionWhenDataIntegrityIsViolated() {
 		UserInsertDTO insertDTO = UserMocksFactory.mockUserInsertDTO();
 		
-		when(roleRepository.getReferenceById(20L)).thenThrow(DataIntegrityViolationException.class);
+		when(roleCatalog.getById(anyLong())).thenReturn(RoleMocksFactory.mockRoleEntity());
+		when(repository.saveAndFlush(any(User.class))).thenThrow(DataIntegrityViolationException.class);
 		
 		assertThrows(DatabaseException.class, () -> service.save(insertDTO));
-		verify(repository, never()).save(any());
-		verify(roleRepository, times(1)).getReferenceById(20L);
 	}
 	
 	@Test
-	public void saveShouldThrowEntityNotFoundExceptionWhenRoleIdDoesNotExist() {
+	public void saveShouldThrowResourceNotFoundExceptionWhenRoleIdDoesNotExist() {
 		UserInsertDTO insertDTO = UserMocksFactory.mockUserInsertDTO();
 		
-		when(roleRepository.getReferenceById(20L)).thenThrow(EntityNotFoundException.class);
+		when(roleCatalog.getById(20L)).thenThrow(new ResourceNotFoundException("Role", "20"));
 		
 		assertThrows(ResourceNotFoundException.class, () -> service.save(insertDTO));
-		verify(repository, never()).save(any());
-		verify(roleRepository, times(1)).getReferenceById(20L);
+		verify(repository, never()).saveAndFlush(any());
+		verify(roleCatalog, times(1)).getById(20L);
 	}
 	
 	@Test
@@ -170,7 +261,7 @@ public class UserServiceTest {
 		when(passwordEncoder.matches(updateDTO.getOldPassword(), entity.getPassword())).thenReturn(false);
 		
 		assertThrows(InvalidPasswordException.class, () -> service.update(updateDTO, EXISTING_ID));
-		verify(repository, never()).save(any());
+		verify(repository, never()).saveAndFlush(any());
 		verify(repository, times(1)).getReferenceById(EXISTING_ID);
 		verify(passwordEncoder, times(1)).matches(updateDTO.getOldPassword(), entity.getPassword());
 	}
@@ -182,26 +273,40 @@ public class UserServiceTest {
 		when(repository.getReferenceById(NON_EXISTING_ID)).thenThrow(EntityNotFoundException.class);
 		
 		assertThrows(ResourceNotFoundException.class, () -> service.update(updateDTO, NON_EXISTING_ID));
-		verify(repository, never()).save(any());
+		verify(repository, never()).saveAndFlush(any());
 		verify(repository, times(1)).getReferenceById(NON_EXISTING_ID);
 	}
 	
 	@Test
-	public void updateShouldThrowDatabaseExceptionWhenRoleIdDoesNotExist() {
+	public void updateShouldThrowResourceNotFoundExceptionWhenRoleIdDoesNotExist() {
 		UserUpdateDTO updateDTO = UserMocksFactory.mockUserUpdateDTO();
 		User entity = UserMocksFactory.mockUserEntity();
 		
 		when(repository.getReferenceById(EXISTING_ID)).thenReturn(entity);
-		when(roleRepository.getReferenceById(20L)).thenThrow(DataIntegrityViolationException.class);
+		when(roleCatalog.getById(20L)).thenThrow(new ResourceNotFoundException("Role", "20"));
 		when(passwordEncoder.matches(updateDTO.getOldPassword(), entity.getPassword())).thenReturn(true);
 		
-		assertThrows(DatabaseException.class, () -> service.update(updateDTO, EXISTING_ID));
+		assertThrows(ResourceNotFoundException.class, () -> service.update(updateDTO, EXISTING_ID));
 		verify(repository, times(1)).getReferenceById(EXISTING_ID);
-		verify(roleRepository, times(1)).getReferenceById(20L);
-		verify(repository, never()).save(any());
+		verify(roleCatalog, times(1)).getById(20L);
+		verify(repository, never()).saveAndFlush(any());
 		verify(passwordEncoder, times(1)).matches(updateDTO.getOldPassword(), entity.getPassword());
 	}
 	
+	@Test
+	public void updateShouldThrowDuplicateFieldExceptionWhenEmailConstraintIsViolated() {
+		UserUpdateDTO updateDTO = UserMocksFactory.mockUserUpdateDTO();
+		User entity = UserMocksFactory.mockUserEntity();
+		
+		when(repository.getReferenceById(EXISTING_ID)).thenReturn(entity);
+		when(passwordEncoder.matches(updateDTO.getOldPassword(), entity.getPassword())).thenReturn(true);
+		when(roleCatalog.getById(anyLong())).thenReturn(RoleMocksFactory.mockRoleEntity());
+		when(repository.saveAndFlush(entity)).thenThrow(makeEmailConstraintViolation());
+		
+		DuplicateFieldException e = assertThrows(DuplicateFieldException.class, () -> service.update(updateDTO, EXISTING_ID));
+		assertEquals("email", e.getFieldName());
+	}
+	
 	@Test
 	public void updateShouldReturnOutputDTOWhenPasswordsMatch() {
 		UserUpdateDTO updateDTO = UserMocksFactory.mockUserUpdateDTO();
@@ -217,21 +322,21 @@ public class UserServiceTest {
 		when(repository.getReferenceById(EXISTING_ID)).thenReturn(oldEntity);
 		when(passwordEncoder.matches(updateDTO.getOldPassword(), oldEntity.getPassword())).thenReturn(true);
 		when(passwordEncoder.encode(updateDTO.getPassword())).thenReturn(newPassword);
-		when(roleRepository.getReferenceById(20L)).thenReturn(role1);
-		when(roleRepository.getReferenceById(21L)).thenReturn(role2);
-		when(repository.save(oldEntity)).thenReturn(newEntity);
+		when(roleCatalog.getById(20L)).thenReturn(role1);
+		when(roleCatalog.getById(21L)).thenReturn(role2);
+		when(repository.saveAndFlush(oldEntity)).thenReturn(newEntity);
 		when(mapper.convertEntityToOutputDTO(newEntity)).thenReturn(outputDTO);
 		
 		UserOutputDTO result = service.update(updateDTO, EXISTING_ID);
-		verify(repository).save(argumentCaptor.capture());
+		verify(repository).saveAndFlush(argumentCaptor.capture());
 		User userResult = argumentCaptor.getValue();
 		
 		verify(repository, times(1)).getReferenceById(EXISTING_ID);
 		verify(passwordEncoder, times(1)).matches(updateDTO.getOldPassword(), oldPassword);
 		verify(passwordEncoder, times(1)).encode(updateDTO.getPassword());
-		verify(roleRepository, times(1)).getReferenceById(20L);
-		verify(roleRepository, times(1)).getReferenceById(21L);
-		verify(repository, times(1)).save(oldEntity);
+		verify(roleCatalog, times(1)).getById(20L);
+		verify(roleCatalog, times(1)).getById(21L);
+		verify(repository, times(1)).saveAndFlush(oldEntity);
 		verify(mapper, times(1)).convertEntityToOutputDTO(newEntity);
 		verify(mapper, times(1)).copyDTOToEntity(updateDTO, oldEntity);
 		
@@ -265,4 +370,102 @@ public class UserServiceTest {
 		assertThrows(DatabaseException.class, () -> service.delete(DEPENDENT_ID));
 		verify(repository, times(1)).deleteById(DEPENDENT_ID);
 	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void saveAllShouldInsertAcceptedUsersInOneBatchAndReportRejectedOnes() {
+		UserBatchInsertDTO dto = UserMocksFactory.mockUserBatchInsertDTO();
+		dto.getUsers().add(UserMocksFactory.mockUserInsertDTO(0));
+		String usedEmail = dto.getUsers().get(1).getEmail();
+		when(repository.findExistingEmails(anyCollection())).thenReturn(List.of(usedEmail));
+		when(roleCatalog.findMissingIds(anyCollection())).thenReturn(List.of());
+		when(roleCatalog.getById(anyLong())).thenReturn(RoleMocksFactory.mockRoleEntity());
+		when(passwordEncoder.encode(any())).thenReturn("encoded");
+		ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+		doAnswer(invocation -> {
+			List<User> entities = invocation.getArgument(0);
+			entities.get(0).setId(100L);
+			return null;
+		}).when(repository).insertInBatches(captor.capture());
+		
+		UserBatchInsertOutputDTO result = service.saveAll(dto);
+		
+		assertEquals(1, result.getCreated());
+		assertEquals(2, result.getRejected());
+		UserBatchItemOutputDTO created = result.getResults().get(0);
+		assertTrue(created.getCreated());
+		assertEquals(100L, created.getId());
+		assertTrue(created.getErrors().isEmpty());
+		assertFalse(result.getResults().get(1).getCreated());
+		assertEquals(List.of("Email already been used, please choose another one"), result.getResults().get(1).getErrors());
+		assertEquals(2, result.getResults().get(2).getIndex());
+		assertEquals(List.of("Email is repeated in this batch"), result.getResults().get(2).getErrors());
+		assertEquals(1, captor.getValue().size());
+		assertEquals("encoded", captor.getValue().get(0).getPassword());
+		verify(repository, times(1)).findExistingEmails(anyCollection());
+		verify(repository, never()).findByEmail(any());
+		verify(passwordEncoder, times(1)).encode(any());
+	}
+	
+	@Test
+	public void saveAllShouldRejectUsersWithMissingRoles() {
+		UserBatchInsertDTO dto = UserMocksFactory.mockUserBatchInsertDTO();
+		when(repository.findExistingEmails(anyCollection())).thenReturn(List.of());
+		when(roleCatalog.findMissingIds(anyCollection())).thenReturn(List.of(), List.of(22L));
+		when(roleCatalog.getById(anyLong())).thenReturn(RoleMocksFactory.mockRoleEntity());
+		
+		UserBatchInsertOutputDTO result = service.saveAll(dto);
+		
+		assertEquals(1, result.getCreated());
+		assertEquals(List.of("Role 22 does not exist"), result.getResults().get(1).getErrors());
+		verify(repository, times(1)).insertInBatches(anyList());
+	}
+	
+	@Test
+	public void saveAllShouldRetryEachUserInItsOwnTransactionWhenBatchViolatesIntegrity() {
+		UserBatchInsertDTO dto = UserMocksFactory.mockUserBatchInsertDTO();
+		when(repository.findExistingEmails(anyCollection())).thenReturn(List.of());
+		when(roleCatalog.findMissingIds(anyCollection())).thenReturn(List.of());
+		when(roleCatalog.getById(anyLong())).thenReturn(RoleMocksFactory.mockRoleEntity());
+		doThrow(DataIntegrityViolationException.class).when(repository).insertInBatches(anyList());
+		when(repository.saveAndFlush(any(User.class)))
+			.thenAnswer(invocation -> {
+				User entity = invocation.getArgument(0);
+				entity.setId(100L);
+				return entity;
+			})
+			.thenThrow(makeEmailConstraintViolation());
+		
+		UserBatchInsertOutputDTO result = service.saveAll(dto);
+		
+		assertEquals(1, result.getCreated());
+		assertEquals(1, result.getRejected());
+		assertEquals(100L, result.getResults().get(0).getId());
+		assertFalse(result.getResults().get(1).getCreated());
+		assertEquals(List.of("Email already been used, please choose another one"), result.getResults().get(1).getErrors());
+		verify(transactionManager, times(3)).getTransaction(any());
+		verify(transactionManager, times(2)).rollback(any());
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void saveAllShouldRejectOnlyTheUsersThatFailValidation() {
+		UserBatchInsertDTO dto = UserMocksFactory.mockUserBatchInsertDTO();
+		dto.getUsers().add(null);
+		UserInputDTO invalidUser = dto.getUsers().get(1);
+		ConstraintViolation<UserInputDTO> violation = mock(ConstraintViolation.class);
+		when(violation.getMessage()).thenReturn("User's password must have at least 6 letters");
+		when(validator.validate(invalidUser)).thenReturn(Set.of(violation));
+		when(repository.findExistingEmails(anyCollection())).thenReturn(List.of());
+		when(roleCatalog.findMissingIds(anyCollection())).thenReturn(List.of());
+		when(roleCatalog.getById(anyLong())).thenReturn(RoleMocksFactory.mockRoleEntity());
+		
+		UserBatchInsertOutputDTO result = service.saveAll(dto);
+		
+		assertEquals(1, result.getCreated());
+		assertEquals(2, result.getRejected());
+		assertEquals(List.of("User's password must have at least 6 letters"), result.getResults().get(1).getErrors());
+		assertEquals(List.of("User must be specified"), result.getResults().get(2).getErrors());
+		verify(repository, times(1)).insertInBatches(argThat(entities -> entities.size() == 1));
+	}
 }